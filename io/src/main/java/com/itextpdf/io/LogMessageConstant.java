@@ -224,4 +224,5 @@ public final class LogMessageConstant {
     @Deprecated
     public static final String XREF_ERROR = "Error occurred while reading cross reference table. Cross reference table will be rebuilt.";
     public static final String XREF_ERROR_WHILE_READING_TABLE_WILL_BE_REBUILT = "Error occurred while reading cross reference table. Cross reference table will be rebuilt.";
+    public static final String XREF_SECTION_CANNOT_BE_READ = "Error occurred while reading cross reference section at offset {0}. Objects which are defined only in this or previous sections will be treated as missing.";
 }
@@ -55,14 +55,17 @@ import com.itextpdf.io.font.constants.FontResources;
 import com.itextpdf.io.util.IntHashtable;
 import com.itextpdf.io.util.ResourceUtil;
 import java.io.InputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class FontCache {
 
@@ -75,7 +78,42 @@ public class FontCache {
     private static final String W_PROP = "W";
     private static final String W2_PROP = "W2";
 
-    private static Map<FontCacheKey, FontProgram> fontCache = new ConcurrentHashMap<>();
+    /**
+     * The maximal number of parsed CMaps kept by the cache.
+     */
+    public static final int MAX_CACHED_CMAPS = 16;
+
+    /**
+     * The estimated size of a font program without its glyphs and font data, in bytes.
+     */
+    private static final long FONT_PROGRAM_SIZE_ESTIMATE = 1024;
+
+    /**
+     * The estimated size of a glyph of a font program, in bytes.
+     */
+    private static final long GLYPH_SIZE_ESTIMATE = 96;
+
+    private static final Object fontCacheLock = new Object();
+    private static final Map<FontCacheKey, CachedFont> fontCache = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Map<FontCacheKey, EvictedFontReference> evictedFonts = new HashMap<>();
+    private static final ReferenceQueue<FontProgram> collectedFonts = new ReferenceQueue<>();
+
+    private static long maxCachedFontsSize = Long.MAX_VALUE;
+    private static boolean keepEvictedFonts = true;
+    private static long cachedFontsSize;
+    private static long hitCount;
+    private static long softReferenceHitCount;
+    private static long missCount;
+    private static long evictionCount;
+
+    private static final Map<String, AbstractCMap> cmapCache = new LinkedHashMap<String, AbstractCMap>(16, 0.75f, true) {
+        private static final long serialVersionUID = 2379587263508735410L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AbstractCMap> eldest) {
+            return size() > MAX_CACHED_CMAPS;
+        }
+    };
 
     static {
         try {
@@ -145,27 +183,50 @@ public class FontCache {
 
     /**
      * Parses CMap with a given name producing it in a form of cid to unicode mapping.
+     * The parsed CMap is cached, so the returned object shall not be modified.
      * @param uniMap a CMap name. It is expected that CMap identified by this name defines unicode to cid mapping.
      * @return an object for convenient mapping from cid to unicode. If no CMap was found for provided name an exception is thrown.
      */
     public static CMapCidUni getCid2UniCmap(String uniMap) {
-        CMapCidUni cidUni = new CMapCidUni();
-        return parseCmap(uniMap, cidUni);
+        CMapCidUni cidUni = (CMapCidUni) getCachedCmap(CMapCidUni.class, uniMap);
+        if (cidUni == null) {
+            cidUni = cacheCmap(uniMap, parseCmap(uniMap, new CMapCidUni()));
+        }
+        return cidUni;
     }
 
     public static CMapUniCid getUni2CidCmap(String uniMap) {
-        CMapUniCid uniCid = new CMapUniCid();
-        return parseCmap(uniMap, uniCid);
+        CMapUniCid uniCid = (CMapUniCid) getCachedCmap(CMapUniCid.class, uniMap);
+        if (uniCid == null) {
+            uniCid = cacheCmap(uniMap, parseCmap(uniMap, new CMapUniCid()));
+        }
+        return uniCid;
     }
 
     public static CMapByteCid getByte2CidCmap(String cmap) {
-        CMapByteCid uniCid = new CMapByteCid();
-        return parseCmap(cmap, uniCid);
+        CMapByteCid byteCid = (CMapByteCid) getCachedCmap(CMapByteCid.class, cmap);
+        if (byteCid == null) {
+            byteCid = cacheCmap(cmap, parseCmap(cmap, new CMapByteCid()));
+        }
+        return byteCid;
     }
 
     public static CMapCidByte getCid2Byte(String cmap) {
-        CMapCidByte cidByte = new CMapCidByte();
-        return parseCmap(cmap, cidByte);
+        CMapCidByte cidByte = (CMapCidByte) getCachedCmap(CMapCidByte.class, cmap);
+        if (cidByte == null) {
+            cidByte = cacheCmap(cmap, parseCmap(cmap, new CMapCidByte()));
+        }
+        return cidByte;
+    }
+
+    /**
+     * Clears the cache of parsed CMaps. At most {@link #MAX_CACHED_CMAPS} least recently used CMaps
+     * are kept in the cache, so the method shall only be called to release the memory they occupy.
+     */
+    public static void clearCachedCmaps() {
+        synchronized (cmapCache) {
+            cmapCache.clear();
+        }
     }
 
     /**
@@ -175,15 +236,121 @@ public class FontCache {
      * This in its turn affects creation of fonts via factories when {@code cached} argument is set to true (which is by default).
      */
     public static void clearSavedFonts() {
-        fontCache.clear();
+        synchronized (fontCacheLock) {
+            fontCache.clear();
+            evictedFonts.clear();
+            cachedFontsSize = 0;
+        }
+    }
+
+    /**
+     * Sets the limit of the estimated size of the fonts held by the cache. The size of a font is estimated
+     * by the number of its glyphs and by the length of the font file it keeps. When the limit is exceeded,
+     * the least recently used fonts are evicted. The cache isn't limited by default.
+     * <p>
+     * The limit is expected to be set once, at the application startup. Lowering the limit evicts the fonts
+     * which don't fit into it immediately.
+     *
+     * @param maxSize the limit of the estimated size of the cached fonts in bytes
+     * @see #setKeepEvictedFonts(boolean)
+     */
+    public static void setMaxCachedFontsSize(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The size limit of the font cache shall not be negative.");
+        }
+        synchronized (fontCacheLock) {
+            maxCachedFontsSize = maxSize;
+            evictFonts();
+        }
+    }
+
+    /**
+     * Gets the limit of the estimated size of the fonts held by the cache.
+     *
+     * @return the limit of the estimated size of the cached fonts in bytes
+     * @see #setMaxCachedFontsSize(long)
+     */
+    public static long getMaxCachedFontsSize() {
+        synchronized (fontCacheLock) {
+            return maxCachedFontsSize;
+        }
+    }
+
+    /**
+     * Sets whether the fonts evicted from the cache shall be kept by soft references. Such fonts are released
+     * by the garbage collector only if the memory is needed, and are returned by the cache until then.
+     * The evicted fonts are kept by default.
+     *
+     * @param keepEvictedFonts true if the evicted fonts shall be kept by soft references, false otherwise
+     */
+    public static void setKeepEvictedFonts(boolean keepEvictedFonts) {
+        synchronized (fontCacheLock) {
+            FontCache.keepEvictedFonts = keepEvictedFonts;
+            if (!keepEvictedFonts) {
+                evictedFonts.clear();
+            }
+        }
+    }
+
+    /**
+     * Checks whether the fonts evicted from the cache are kept by soft references.
+     *
+     * @return true if the evicted fonts are kept by soft references, false otherwise
+     * @see #setKeepEvictedFonts(boolean)
+     */
+    public static boolean isKeepEvictedFonts() {
+        synchronized (fontCacheLock) {
+            return keepEvictedFonts;
+        }
+    }
+
+    /**
+     * Gets the usage counters and the current size of the cache of fonts.
+     *
+     * @return the {@link FontCacheStatistics} snapshot
+     */
+    public static FontCacheStatistics getStatistics() {
+        synchronized (fontCacheLock) {
+            return new FontCacheStatistics(hitCount, softReferenceHitCount, missCount, evictionCount,
+                    fontCache.size(), cachedFontsSize);
+        }
+    }
+
+    /**
+     * Resets the usage counters of the cache of fonts.
+     */
+    public static void resetStatistics() {
+        synchronized (fontCacheLock) {
+            hitCount = 0;
+            softReferenceHitCount = 0;
+            missCount = 0;
+            evictionCount = 0;
+        }
     }
 
     public static FontProgram getFont(String fontName) {
-        return fontCache.get(FontCacheKey.create(fontName));
+        return getFont(FontCacheKey.create(fontName));
     }
 
     static FontProgram getFont(FontCacheKey key) {
-        return fontCache.get(key);
+        synchronized (fontCacheLock) {
+            removeCollectedFonts();
+            CachedFont cachedFont = fontCache.get(key);
+            if (cachedFont != null) {
+                hitCount++;
+                return cachedFont.font;
+            }
+            EvictedFontReference evictedFont = evictedFonts.remove(key);
+            FontProgram font = evictedFont != null ? evictedFont.get() : null;
+            if (font != null) {
+                hitCount++;
+                softReferenceHitCount++;
+                putFont(key, font);
+                return font;
+            }
+            missCount++;
+            return null;
+        }
     }
 
     public static FontProgram saveFont(FontProgram font, String fontName) {
@@ -191,12 +358,66 @@ public class FontCache {
     }
 
     static FontProgram saveFont(FontProgram font, FontCacheKey key) {
-        FontProgram fontFound = fontCache.get(key);
-        if (fontFound != null) {
-            return fontFound;
+        synchronized (fontCacheLock) {
+            removeCollectedFonts();
+            CachedFont cachedFont = fontCache.get(key);
+            if (cachedFont != null) {
+                return cachedFont.font;
+            }
+            EvictedFontReference evictedFont = evictedFonts.remove(key);
+            FontProgram fontFound = evictedFont != null ? evictedFont.get() : null;
+            if (fontFound != null) {
+                font = fontFound;
+            }
+            putFont(key, font);
+            return font;
+        }
+    }
+
+    /**
+     * Estimates the memory occupied by a font program.
+     *
+     * @param font the font program
+     * @return the estimated size of the font program in bytes
+     */
+    static long estimateFontSize(FontProgram font) {
+        long size = FONT_PROGRAM_SIZE_ESTIMATE
+                + GLYPH_SIZE_ESTIMATE * Math.max(font.codeToGlyph.size(), font.unicodeToGlyph.size());
+        if (font instanceof TrueTypeFont) {
+            size += ((TrueTypeFont) font).getFontDataLength();
+        }
+        return size;
+    }
+
+    private static void putFont(FontCacheKey key, FontProgram font) {
+        CachedFont cachedFont = new CachedFont(font, estimateFontSize(font));
+        fontCache.put(key, cachedFont);
+        cachedFontsSize += cachedFont.size;
+        evictFonts();
+    }
+
+    private static void evictFonts() {
+        Iterator<Map.Entry<FontCacheKey, CachedFont>> iterator = fontCache.entrySet().iterator();
+        while (cachedFontsSize > maxCachedFontsSize && iterator.hasNext()) {
+            Map.Entry<FontCacheKey, CachedFont> eldest = iterator.next();
+            iterator.remove();
+            cachedFontsSize -= eldest.getValue().size;
+            evictionCount++;
+            if (keepEvictedFonts) {
+                evictedFonts.put(eldest.getKey(),
+                        new EvictedFontReference(eldest.getKey(), eldest.getValue().font, collectedFonts));
+            }
+        }
+    }
+
+    private static void removeCollectedFonts() {
+        Reference<? extends FontProgram> reference;
+        while ((reference = collectedFonts.poll()) != null) {
+            FontCacheKey key = ((EvictedFontReference) reference).key;
+            if (evictedFonts.get(key) == reference) {
+                evictedFonts.remove(key);
+            }
         }
-        fontCache.put(key, font);
-        return font;
     }
 
     private static void loadRegistry() throws java.io.IOException {
@@ -259,6 +480,30 @@ public class FontCache {
         return h;
     }
 
+    private static AbstractCMap getCachedCmap(Class<? extends AbstractCMap> cmapClass, String name) {
+        synchronized (cmapCache) {
+            return cmapCache.get(getCmapCacheKey(cmapClass, name));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends AbstractCMap> T cacheCmap(String name, T cmap) {
+        String key = getCmapCacheKey(cmap.getClass(), name);
+        // the CMap is parsed outside the lock, so another thread may have cached the same CMap meanwhile
+        synchronized (cmapCache) {
+            AbstractCMap cached = cmapCache.get(key);
+            if (cached != null) {
+                return (T) cached;
+            }
+            cmapCache.put(key, cmap);
+            return cmap;
+        }
+    }
+
+    private static String getCmapCacheKey(Class<? extends AbstractCMap> cmapClass, String name) {
+        return cmapClass.getSimpleName() + "/" + name;
+    }
+
     private static <T extends AbstractCMap> T parseCmap(String name, T cmap) {
         try {
             CMapParser.parseCid(name, cmap, new CMapLocationResource());
@@ -267,4 +512,23 @@ public class FontCache {
         }
         return cmap;
     }
+
+    private static final class CachedFont {
+        final FontProgram font;
+        final long size;
+
+        CachedFont(FontProgram font, long size) {
+            this.font = font;
+            this.size = size;
+        }
+    }
+
+    private static final class EvictedFontReference extends SoftReference<FontProgram> {
+        final FontCacheKey key;
+
+        EvictedFontReference(FontCacheKey key, FontProgram font, ReferenceQueue<FontProgram> queue) {
+            super(font, queue);
+            this.key = key;
+        }
+    }
 }
@@ -170,6 +170,24 @@ public class TrueTypeFont extends FontProgram {
         return fontStreamBytes;
     }
 
+    /**
+     * Gets the length of the font data kept by the font program, i.e. of the font file
+     * and of the {@link #getFontStreamBytes() font stream} if it has already been read.
+     *
+     * @return the length of the font data in bytes
+     */
+    long getFontDataLength() {
+        long length = fontStreamBytes != null ? fontStreamBytes.length : 0;
+        if (fontParser != null && fontParser.raf != null) {
+            try {
+                length += fontParser.raf.length();
+            } catch (java.io.IOException ignored) {
+                // the length of the closed font file doesn't matter
+            }
+        }
+        return length;
+    }
+
     @Override
     public int getPdfFontFlags() {
         int flags = 0;
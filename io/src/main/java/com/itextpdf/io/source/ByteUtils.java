@@ -59,6 +59,30 @@ public final class ByteUtils {
     private static final byte[] one = new byte[]{49};
     private static final byte[] negOne = new byte[]{(byte) '-', 49};
 
+    /**
+     * The maximal number of fraction digits supported by {@link #getIsoBytes(double, ByteBuffer, int)}.
+     */
+    static final int MAX_FRACTION_DIGITS = 10;
+
+    private static final long[] powersOfTen = new long[MAX_FRACTION_DIGITS + 1];
+    private static final String[] fractionPatterns = new String[MAX_FRACTION_DIGITS + 1];
+
+    /**
+     * Scaled values up to this limit are rounded in double arithmetic, the rest are passed to DecimalFormat.
+     */
+    private static final double MAX_FAST_SCALED_VALUE = 1e15;
+
+    static {
+        long power = 1;
+        StringBuilder pattern = new StringBuilder("0.");
+        for (int i = 0; i <= MAX_FRACTION_DIGITS; i++) {
+            powersOfTen[i] = power;
+            fractionPatterns[i] = i == 0 ? "0" : pattern.toString();
+            power *= 10;
+            pattern.append('#');
+        }
+    }
+
     public static byte[] getIsoBytes(String text) {
         if (text == null)
             return null;
@@ -267,6 +291,64 @@ public final class ByteUtils {
         return buffer == null ? buf.getInternalBuffer() : null;
     }
 
+    /**
+     * Writes the number rounded to the specified number of fraction digits, omitting trailing zeros.
+     * The result is the same as the one of {@link DecimalFormatUtil#formatNumber(double, String)}
+     * with "0.###..." pattern, except that negative numbers which are rounded to zero are written as "0".
+     * The digits are written directly into the buffer in all cases but for very big numbers.
+     * It is used only for the streams with {@link OutputStream#setNumberPrecision(int) a number precision set},
+     * the numbers of the other streams are formatted as before.
+     */
+    static byte[] getIsoBytes(double d, ByteBuffer buffer, int fractionDigits) {
+        if (Double.isNaN(d)) {
+            Logger logger = LoggerFactory.getLogger(ByteUtils.class);
+            logger.error(LogMessageConstant.ATTEMPT_PROCESS_NAN);
+            d = 0;
+        }
+        boolean negative = d < 0;
+        double scaled = Math.abs(d) * powersOfTen[fractionDigits];
+        long units = (long) scaled;
+        double remainder = scaled - units;
+        // DecimalFormat rounds the exact binary value half-even. The scaled value may be off by half an ulp,
+        // so the numbers which are too close to the middle between two results are left to DecimalFormat.
+        if (!(scaled < MAX_FAST_SCALED_VALUE) || Math.abs(remainder - 0.5) <= scaled * 1e-15 + 1e-9) {
+            String formatted = DecimalFormatUtil.formatNumber(d, fractionPatterns[fractionDigits]);
+            byte[] result = "-0".equals(formatted) ? zero : formatted.getBytes(StandardCharsets.ISO_8859_1);
+            if (buffer != null) {
+                buffer.prepend(result);
+                return null;
+            }
+            return result;
+        }
+        if (remainder > 0.5) {
+            units++;
+        }
+        if (units == 0) {
+            negative = false;
+        }
+        ByteBuffer buf = buffer == null ? new ByteBuffer(32) : buffer;
+        int fracLen = fractionDigits;
+        while (fracLen > 0 && units % 10 == 0) {
+            units /= 10;
+            fracLen--;
+        }
+        for (int i = 0; i < fracLen; i++) {
+            buf.prepend(bytes[(int) (units % 10)]);
+            units /= 10;
+        }
+        if (fracLen > 0) {
+            buf.prepend((byte) '.');
+        }
+        do {
+            buf.prepend(bytes[(int) (units % 10)]);
+            units /= 10;
+        } while (units > 0);
+        if (negative) {
+            buf.prepend((byte) '-');
+        }
+        return buffer == null ? buf.toByteArray(buf.capacity() - buf.size(), buf.size()) : null;
+    }
+
     private static int longSize(long l) {
         long m = 10;
         for (int i = 1; i < 19; i++) {
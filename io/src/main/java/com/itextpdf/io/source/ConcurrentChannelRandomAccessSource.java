@@ -0,0 +1,229 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.LogMessageConstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A RandomAccessSource that is based on an underlying {@link java.nio.channels.FileChannel} and can be read
+ * by any number of threads at the same time without any locking.
+ * <p>
+ * The channel is mapped into memory as a set of read-only slices which are never repositioned:
+ * single bytes are read by absolute index and bulk reads are done through a duplicate of the slice.
+ * If the channel can't be mapped, positional {@link FileChannel#read(ByteBuffer, long)} calls are used instead.
+ * <p>
+ * Unlike {@link ThreadSafeRandomAccessSource}, reads from different threads don't block each other.
+ * Several {@link RandomAccessFileOrArray} or PdfReader instances can share one source through
+ * {@link IndependentRandomAccessSource} views. The source itself shall be closed only after all reads are finished.
+ */
+public class ConcurrentChannelRandomAccessSource implements IRandomAccessSource {
+
+    /**
+     * The default size of each mapped slice of the channel.
+     */
+    public static final int DEFAULT_SLICE_SIZE = 1 << 30;
+
+    /**
+     * The channel this source is based on
+     */
+    private final FileChannel channel;
+
+    /**
+     * The length of the channel at the moment the source was created
+     */
+    private final long length;
+
+    /**
+     * The size of each of the mapped slices, the last slice may be shorter
+     */
+    private final int sliceSize;
+
+    /**
+     * Mapped slices of the channel, or null if the channel is read with positional reads
+     */
+    private volatile ByteBuffer[] slices;
+
+    /**
+     * Constructs a new {@link ConcurrentChannelRandomAccessSource} based on the specified FileChannel,
+     * mapping it into memory with the slices of the default size.
+     *
+     * @param channel the channel to use as the backing store
+     * @throws java.io.IOException if the channel size can't be determined
+     */
+    public ConcurrentChannelRandomAccessSource(FileChannel channel) throws java.io.IOException {
+        this(channel, DEFAULT_SLICE_SIZE, true);
+    }
+
+    /**
+     * Constructs a new {@link ConcurrentChannelRandomAccessSource} based on the specified FileChannel.
+     *
+     * @param channel   the channel to use as the backing store
+     * @param sliceSize the size of each mapped slice, must be greater than 0
+     * @param mapSlices whether the channel should be mapped into memory. If false or if mapping fails,
+     *                  the channel is read with positional reads
+     * @throws java.io.IOException if the channel size can't be determined
+     */
+    public ConcurrentChannelRandomAccessSource(FileChannel channel, int sliceSize, boolean mapSlices) throws java.io.IOException {
+        if (sliceSize <= 0)
+            throw new IllegalArgumentException(sliceSize + " is zero or negative");
+        this.channel = channel;
+        this.length = channel.size();
+        if (length == 0)
+            throw new java.io.IOException("File size is 0 bytes");
+        this.sliceSize = sliceSize;
+        if (mapSlices) {
+            this.slices = mapSlices(channel, length, sliceSize);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position) throws java.io.IOException {
+        if (position < 0 || position >= length)
+            return -1;
+        ByteBuffer[] mapped = slices;
+        if (mapped != null) {
+            return mapped[(int) (position / sliceSize)].get((int) (position % sliceSize)) & 0xff;
+        }
+        byte[] singleByte = new byte[1];
+        return readFromChannel(position, singleByte, 0, 1) == 1 ? singleByte[0] & 0xff : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        if (position < 0 || position >= length)
+            return -1;
+        len = (int) Math.min(len, length - position);
+        ByteBuffer[] mapped = slices;
+        if (mapped == null) {
+            return readFromChannel(position, bytes, off, len);
+        }
+        int read = 0;
+        while (read < len) {
+            long current = position + read;
+            // duplicate shares the content of the slice but has its own position, so the slice itself is never changed
+            ByteBuffer slice = mapped[(int) (current / sliceSize)].duplicate();
+            ((Buffer) slice).position((int) (current % sliceSize));
+            int bytesFromThisSlice = Math.min(len - read, slice.remaining());
+            slice.get(bytes, off + read, bytesFromThisSlice);
+            read += bytesFromThisSlice;
+        }
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Cleans the mapped byte buffers and closes the channel.
+     * Shall not be called while the source is being read by other threads.
+     */
+    public void close() throws java.io.IOException {
+        ByteBuffer[] mapped = slices;
+        slices = null;
+        try {
+            if (mapped != null) {
+                for (ByteBuffer slice : mapped) {
+                    new ByteBufferRandomAccessSource(slice).close();
+                }
+            }
+        } finally {
+            try {
+                channel.close();
+            } catch (Exception ex) {
+                Logger logger = LoggerFactory.getLogger(ConcurrentChannelRandomAccessSource.class);
+                logger.error(LogMessageConstant.FILE_CHANNEL_CLOSING_FAILED, ex);
+            }
+        }
+    }
+
+    private int readFromChannel(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, off, len);
+        int read = 0;
+        while (read < len) {
+            // positional reads don't change the position of the channel and can be done concurrently
+            int n = channel.read(buffer, position + read);
+            if (n < 0)
+                break;
+            read += n;
+        }
+        return read == 0 ? -1 : read;
+    }
+
+    private static ByteBuffer[] mapSlices(FileChannel channel, long length, int sliceSize) {
+        int sliceCount = (int) (length / sliceSize) + (length % sliceSize == 0 ? 0 : 1);
+        ByteBuffer[] mapped = new ByteBuffer[sliceCount];
+        try {
+            for (int i = 0; i < sliceCount; i++) {
+                long sliceOffset = (long) i * sliceSize;
+                mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, sliceOffset, Math.min(length - sliceOffset, sliceSize));
+            }
+            return mapped;
+        } catch (java.io.IOException e) {
+            // fall back to positional reads if the channel can't be mapped, e.g. because of the lack of address space
+            for (ByteBuffer slice : mapped) {
+                if (slice != null) {
+                    try {
+                        new ByteBufferRandomAccessSource(slice).close();
+                    } catch (java.io.IOException ignored) { }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -54,10 +54,23 @@ public class OutputStream<T extends java.io.OutputStream> extends java.io.Output
     //long=19 + max frac=6 => 26 => round to 32.
     private final ByteBuffer numBuffer = new ByteBuffer(32);
 
+    private static final int BATCH_BUFFER_SIZE = 8192;
+
+    /**
+     * The buffer in which {@link #writeDoubleGroups(double[], int, int, int, byte[])} assembles its output.
+     */
+    private transient byte[] batchBuffer;
+
     protected java.io.OutputStream outputStream = null;
     protected long currentPos = 0;
     protected boolean closeStream = true;
 
+    /**
+     * The number of fraction digits of the written floating point numbers, or -1 if the global
+     * {@link #getHighPrecision() precision setting} is used.
+     */
+    private int numberPrecision = -1;
+
     public static boolean getHighPrecision() {
         return ByteUtils.HighPrecision;
     }
@@ -66,6 +79,32 @@ public class OutputStream<T extends java.io.OutputStream> extends java.io.Output
         ByteUtils.HighPrecision = value;
     }
 
+    /**
+     * Gets the number of fraction digits of the floating point numbers written by {@link #writeDouble(double)}
+     * and {@link #writeFloat(float)}.
+     *
+     * @return the number of fraction digits, or -1 if the global precision setting is used
+     */
+    public int getNumberPrecision() {
+        return numberPrecision;
+    }
+
+    /**
+     * Sets the number of fraction digits of the floating point numbers written by {@link #writeDouble(double)}
+     * and {@link #writeFloat(float)}. Numbers are rounded to the specified number of digits and
+     * written without trailing zeros.
+     *
+     * @param numberPrecision the number of fraction digits, from 0 to 10, or -1 to use the global precision setting
+     * @return this stream
+     */
+    public T setNumberPrecision(int numberPrecision) {
+        if (numberPrecision < -1 || numberPrecision > ByteUtils.MAX_FRACTION_DIGITS) {
+            throw new IllegalArgumentException("The number precision shall be between 0 and 10, or -1.");
+        }
+        this.numberPrecision = numberPrecision;
+        return (T) this;
+    }
+
     public OutputStream(java.io.OutputStream outputStream) {
         super();
         this.outputStream = outputStream;
@@ -136,7 +175,7 @@ public class OutputStream<T extends java.io.OutputStream> extends java.io.Output
     }
 
     public T writeFloat(float value) {
-        return writeFloat(value, ByteUtils.HighPrecision);
+        return writeDouble(value);
     }
 
     public T writeFloat(float value, boolean highPrecision) {
@@ -153,7 +192,68 @@ public class OutputStream<T extends java.io.OutputStream> extends java.io.Output
     }
 
     public T writeDouble(double value) {
-        return writeDouble(value, ByteUtils.HighPrecision);
+        try {
+            formatDouble(value);
+            write(numBuffer.getInternalBuffer(), numBuffer.capacity() - numBuffer.size(), numBuffer.size());
+            return (T) this;
+        } catch (java.io.IOException e) {
+            throw new IOException(IOException.CannotWriteFloatNumber, e);
+        }
+    }
+
+    /**
+     * Writes groups of floating point numbers, separating the numbers with spaces and following every group
+     * with the suffix bytes, e.g. with the operator of a content stream. The numbers are formatted the same way
+     * as by {@link #writeDouble(double)}. The output is assembled in an internal buffer and is passed
+     * to the underlying stream in large chunks.
+     *
+     * @param values the array with the numbers
+     * @param offset the index of the first number to write
+     * @param groupsCount the number of groups to write
+     * @param groupSize the number of numbers in each group
+     * @param groupSuffix the bytes which are written after each group, following the space after the last number
+     * @return this stream
+     */
+    public T writeDoubleGroups(double[] values, int offset, int groupsCount, int groupSize, byte[] groupSuffix) {
+        if (offset < 0 || groupsCount < 0 || groupSize < 0 || offset + (long) groupsCount * groupSize > values.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (batchBuffer == null) {
+            batchBuffer = new byte[BATCH_BUFFER_SIZE];
+        }
+        // the longest number takes less than the number buffer, so it's enough to check the space once per number
+        int maxNumberLength = numBuffer.capacity() + 1;
+        try {
+            int length = 0;
+            int index = offset;
+            for (int i = 0; i < groupsCount; i++) {
+                for (int j = 0; j < groupSize; j++) {
+                    if (length + maxNumberLength > batchBuffer.length) {
+                        write(batchBuffer, 0, length);
+                        length = 0;
+                    }
+                    formatDouble(values[index++]);
+                    System.arraycopy(numBuffer.getInternalBuffer(), numBuffer.capacity() - numBuffer.size(),
+                            batchBuffer, length, numBuffer.size());
+                    length += numBuffer.size();
+                    batchBuffer[length++] = (byte) ' ';
+                }
+                if (length + groupSuffix.length > batchBuffer.length) {
+                    write(batchBuffer, 0, length);
+                    length = 0;
+                }
+                if (groupSuffix.length > batchBuffer.length) {
+                    write(groupSuffix);
+                } else {
+                    System.arraycopy(groupSuffix, 0, batchBuffer, length, groupSuffix.length);
+                    length += groupSuffix.length;
+                }
+            }
+            write(batchBuffer, 0, length);
+            return (T) this;
+        } catch (java.io.IOException e) {
+            throw new IOException(IOException.CannotWriteFloatNumber, e);
+        }
     }
 
     public T writeDouble(double value, boolean highPrecision) {
@@ -166,6 +266,14 @@ public class OutputStream<T extends java.io.OutputStream> extends java.io.Output
         }
     }
 
+    private void formatDouble(double value) {
+        if (numberPrecision >= 0) {
+            ByteUtils.getIsoBytes(value, numBuffer.reset(), numberPrecision);
+        } else {
+            ByteUtils.getIsoBytes(value, numBuffer.reset(), ByteUtils.HighPrecision);
+        }
+    }
+
     public T writeByte(int value) {
         try {
             write(value);
@@ -205,6 +205,22 @@ public class PdfTokenizer implements Closeable, Serializable {
         return true;
     }
 
+    /**
+     * Calculates the hash code of the current token value without copying the token bytes.
+     * The result is the same as {@link java.util.Arrays#hashCode(byte[])} of {@link #getByteContent()}.
+     *
+     * @return the hash code of the current token value
+     */
+    public int tokenValueHashCode() {
+        byte[] buffer = outBuf.getInternalBuffer();
+        int size = outBuf.size();
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        return hash;
+    }
+
     public int getObjNr() {
         return reference;
     }
@@ -604,7 +604,7 @@ public class RandomAccessFileOrArray implements DataInput, Serializable {
     }
 
     private void ensureByteSourceIsThreadSafe() {
-        if (!(byteSource instanceof ThreadSafeRandomAccessSource)) {
+        if (!(byteSource instanceof ThreadSafeRandomAccessSource) && !(byteSource instanceof ConcurrentChannelRandomAccessSource)) {
             byteSource = new ThreadSafeRandomAccessSource(byteSource);
         }
     }
@@ -78,6 +78,11 @@ public final class RandomAccessSourceFactory implements Serializable {
      */
     private boolean exclusivelyLockFile = false;
 
+    /**
+     * Whether files should be opened as {@link ConcurrentChannelRandomAccessSource} which can be read by many threads without locking
+     */
+    private boolean useConcurrentAccess = false;
+
     /**
      * Creates a factory that will give preference to accessing the underling data source using memory mapped files
      */
@@ -109,6 +114,18 @@ public final class RandomAccessSourceFactory implements Serializable {
         return this;
     }
 
+    /**
+     * Determines whether files should be opened as {@link ConcurrentChannelRandomAccessSource}, so that
+     * the created source can be read by many threads at the same time without locking.
+     * This setting is ignored if {@code forceRead} or {@code usePlainRandomAccess} is true.
+     * @param useConcurrentAccess whether {@link ConcurrentChannelRandomAccessSource} should be created for files
+     * @return this object (this allows chaining of method calls)
+     */
+    public RandomAccessSourceFactory setUseConcurrentAccess(boolean useConcurrentAccess){
+        this.useConcurrentAccess = useConcurrentAccess;
+        return this;
+    }
+
     /**
      * Creates a {@link IRandomAccessSource} based on a byte array
      * @param data the byte array
@@ -156,7 +173,8 @@ public final class RandomAccessSourceFactory implements Serializable {
      * Creates a {@link IRandomAccessSource} based on a filename string.
      * If the filename describes a URL, a URL based source is created
      * If the filename describes a file on disk, the contents may be read into memory (if {@code forceRead} is true),
-     * opened using memory mapped file channel (if usePlainRandomAccess is false), or
+     * opened using memory mapped file channel (if usePlainRandomAccess is false),
+     * opened using {@link ConcurrentChannelRandomAccessSource} (if useConcurrentAccess is true), or
      * opened using {@link RandomAccessFile} access (if usePlainRandomAccess is true)
      * This call will automatically fail over to using {@link RandomAccessFile} if the memory map operation fails
      * @param filename the name of the file or resource to create the {@link IRandomAccessSource} for
@@ -201,6 +219,11 @@ public final class RandomAccessSourceFactory implements Serializable {
             if (raf.length() <= 0)
                 return new RAFRandomAccessSource(raf);
 
+            if (useConcurrentAccess) {
+                // falls back to positional channel reads by itself if the file can't be mapped
+                return new ConcurrentChannelRandomAccessSource(raf.getChannel());
+            }
+
             try {
 
                 // ownership of the RAF passes to whatever source is created by createBestSource.
@@ -121,6 +121,72 @@ public class FontCacheNoFontAsianTest extends ExtendedITextTest {
         Assert.assertEquals(normalMockFontProgram, FontCache.getFont(normal));
     }
 
+    @Test
+    public void leastRecentlyUsedFontsAreEvictedTest() {
+        FontProgram first = new FontProgramMock();
+        FontProgram second = new FontProgramMock();
+        FontProgram third = new FontProgramMock();
+        long fontSize = FontCache.estimateFontSize(first);
+        try {
+            FontCache.setKeepEvictedFonts(false);
+            FontCache.setMaxCachedFontsSize(2 * fontSize);
+            FontCache.resetStatistics();
+
+            FontCache.saveFont(first, "first");
+            FontCache.saveFont(second, "second");
+            Assert.assertEquals(first, FontCache.getFont("first"));
+            FontCache.saveFont(third, "third");
+
+            Assert.assertNull(FontCache.getFont("second"));
+            Assert.assertEquals(first, FontCache.getFont("first"));
+            Assert.assertEquals(third, FontCache.getFont("third"));
+
+            FontCacheStatistics statistics = FontCache.getStatistics();
+            Assert.assertEquals(3, statistics.getHitCount());
+            Assert.assertEquals(1, statistics.getMissCount());
+            Assert.assertEquals(1, statistics.getEvictionCount());
+            Assert.assertEquals(2, statistics.getCachedFontsCount());
+            Assert.assertEquals(2 * fontSize, statistics.getCachedFontsSize());
+
+            FontCache.setMaxCachedFontsSize(0);
+            Assert.assertEquals(0, FontCache.getStatistics().getCachedFontsCount());
+            Assert.assertNull(FontCache.getFont("third"));
+        } finally {
+            FontCache.setMaxCachedFontsSize(Long.MAX_VALUE);
+            FontCache.setKeepEvictedFonts(true);
+        }
+    }
+
+    @Test
+    public void evictedFontIsKeptBySoftReferenceTest() {
+        FontProgram first = new FontProgramMock();
+        FontProgram second = new FontProgramMock();
+        try {
+            FontCache.setMaxCachedFontsSize(FontCache.estimateFontSize(first));
+            FontCache.resetStatistics();
+
+            FontCache.saveFont(first, "first");
+            FontCache.saveFont(second, "second");
+            Assert.assertEquals(1, FontCache.getStatistics().getCachedFontsCount());
+
+            // the font is strongly reachable from the test, so it can't be garbage collected
+            Assert.assertEquals(first, FontCache.getFont("first"));
+            Assert.assertEquals(second, FontCache.saveFont(new FontProgramMock(), "second"));
+
+            FontCacheStatistics statistics = FontCache.getStatistics();
+            Assert.assertEquals(1, statistics.getSoftReferenceHitCount());
+            Assert.assertEquals(3, statistics.getEvictionCount());
+        } finally {
+            FontCache.setMaxCachedFontsSize(Long.MAX_VALUE);
+        }
+    }
+
+    @Test
+    public void negativeCacheSizeTest() {
+        junitExpectedException.expect(IllegalArgumentException.class);
+        FontCache.setMaxCachedFontsSize(-1);
+    }
+
     @Test
     public void getCompatibleCidFontNoFontAsian() {
         // Without font-asian module in the class path
@@ -0,0 +1,168 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.util.FileUtil;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ConcurrentChannelRandomAccessSourceTest extends ExtendedITextTest {
+    private final static String SOURCE_FILE = "./src/test/resources/com/itextpdf/io/source/RAF.txt";
+
+    private final byte[] content = "Hello, world!".getBytes();
+
+    @Test
+    public void getByIndexTest() throws IOException {
+        for (IRandomAccessSource source : createSources()) {
+            for (int i = 0; i < content.length; i++) {
+                Assert.assertEquals(content[i], source.get(i));
+            }
+            Assert.assertEquals(-1, source.get(content.length));
+            source.close();
+        }
+    }
+
+    @Test
+    public void getArrayAcrossSlicesTest() throws IOException {
+        final int beginIndex = 2;
+        final int length = 24;
+        final int expectedLength = content.length - beginIndex;
+        final int offset = 1;
+
+        for (IRandomAccessSource source : createSources()) {
+            byte[] dest = new byte[32];
+            int read = source.get(beginIndex, dest, offset, length);
+
+            Assert.assertEquals(expectedLength, read);
+            for (int i = 0; i < expectedLength; i++) {
+                Assert.assertEquals(content[beginIndex + i], dest[offset + i]);
+            }
+            Assert.assertEquals(-1, source.get(content.length, dest, 0, length));
+            source.close();
+        }
+    }
+
+    @Test
+    public void concurrentReadsTest() throws Exception {
+        final IRandomAccessSource source = new ConcurrentChannelRandomAccessSource(openChannel(), 5, true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int shift = t;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws IOException {
+                        byte[] dest = new byte[content.length];
+                        for (int i = 0; i < 1000; i++) {
+                            int position = (i + shift) % content.length;
+                            if (source.get(position) != content[position]) {
+                                return false;
+                            }
+                            int read = source.get(position, dest, 0, dest.length);
+                            for (int j = 0; j < read; j++) {
+                                if (dest[j] != content[position + j]) {
+                                    return false;
+                                }
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+            source.close();
+        }
+    }
+
+    @Test
+    public void factoryCreatesConcurrentSourceTest() throws IOException {
+        IRandomAccessSource source = new RandomAccessSourceFactory().setUseConcurrentAccess(true).createBestSource(SOURCE_FILE);
+        Assert.assertTrue(source instanceof ConcurrentChannelRandomAccessSource);
+        Assert.assertEquals(content.length, source.length());
+        source.close();
+    }
+
+    @Test
+    public void viewIsNotWrappedWithLockTest() throws IOException {
+        RandomAccessFileOrArray file = new RandomAccessFileOrArray(new ConcurrentChannelRandomAccessSource(openChannel()));
+        RandomAccessFileOrArray view = file.createView();
+        Assert.assertTrue(file.createSourceView() instanceof IndependentRandomAccessSource);
+        Assert.assertEquals(content[0], view.read());
+        view.close();
+        Assert.assertEquals(content[0], file.read());
+        file.close();
+    }
+
+    private List<IRandomAccessSource> createSources() throws IOException {
+        List<IRandomAccessSource> sources = new ArrayList<>();
+        sources.add(new ConcurrentChannelRandomAccessSource(openChannel()));
+        sources.add(new ConcurrentChannelRandomAccessSource(openChannel(), 4, true));
+        sources.add(new ConcurrentChannelRandomAccessSource(openChannel(), 4, false));
+        return sources;
+    }
+
+    private static java.nio.channels.FileChannel openChannel() throws IOException {
+        RandomAccessFile raf = FileUtil.getRandomAccessFile(new File(SOURCE_FILE));
+        return raf.getChannel();
+    }
+}
@@ -130,4 +130,64 @@ public class WriteNumbersTest extends ExtendedITextTest {
         String message = "Expects: " + new String(expecteds) + ", actual: " + new String(actuals) + " \\\\ "+ d;
         Assert.assertArrayEquals(message, expecteds, actuals);
     }
+
+    @Test
+    public void writeHighPrecisionNumbersTest() {
+        Random rnd = new Random();
+        for (int i = 0; i < 100000; i++) {
+            double d = (rnd.nextDouble() - 0.5) * Math.pow(10, rnd.nextInt(14) - 5);
+            if (Math.abs(d) < 0.000001) continue;
+            byte[] actuals = ByteUtils.getIsoBytes(d, null, true);
+            byte[] expecteds = DecimalFormatUtil.formatNumber(d, "0.######").getBytes(StandardCharsets.ISO_8859_1);
+            String message = "Expects: " + new String(expecteds) + ", actual: " + new String(actuals) + " \\\\ " + d;
+            Assert.assertArrayEquals(message, expecteds, actuals);
+        }
+    }
+
+    @Test
+    public void writeNumbersWithPrecisionTest() {
+        Random rnd = new Random();
+        for (int i = 0; i < 100000; i++) {
+            int fractionDigits = rnd.nextInt(ByteUtils.MAX_FRACTION_DIGITS + 1);
+            double d = (rnd.nextDouble() - 0.5) * Math.pow(10, rnd.nextInt(16) - 6);
+            StringBuilder pattern = new StringBuilder("0");
+            for (int j = 0; j < fractionDigits; j++) {
+                pattern.append(j == 0 ? ".#" : "#");
+            }
+            String expected = DecimalFormatUtil.formatNumber(d, pattern.toString());
+            if ("-0".equals(expected)) {
+                expected = "0";
+            }
+            byte[] actuals = ByteUtils.getIsoBytes(d, null, fractionDigits);
+            String message = "Expects: " + expected + ", actual: " + new String(actuals) + " \\\\ " + d;
+            Assert.assertArrayEquals(message, expected.getBytes(StandardCharsets.ISO_8859_1), actuals);
+        }
+    }
+
+    @Test
+    public void writeNumbersWithPrecisionRoundingTest() {
+        Assert.assertEquals("0", new String(ByteUtils.getIsoBytes(0.5, null, 0)));
+        Assert.assertEquals("2", new String(ByteUtils.getIsoBytes(2.5, null, 0)));
+        Assert.assertEquals("-4", new String(ByteUtils.getIsoBytes(-3.5, null, 0)));
+        Assert.assertEquals("0.12", new String(ByteUtils.getIsoBytes(0.125, null, 2)));
+        Assert.assertEquals("1.13", new String(ByteUtils.getIsoBytes(1.13, null, 2)));
+        Assert.assertEquals("0", new String(ByteUtils.getIsoBytes(-0.0004, null, 3)));
+        Assert.assertEquals("100", new String(ByteUtils.getIsoBytes(99.9999, null, 3)));
+        Assert.assertEquals("123456789012345", new String(ByteUtils.getIsoBytes(123456789012345.0, null, 2)));
+    }
+
+    @Test
+    public void writeDoubleWithStreamPrecisionTest() {
+        java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+        OutputStream<java.io.OutputStream> stream = new OutputStream<>(baos);
+        stream.writeDouble(1.23456);
+        stream.writeSpace();
+        stream.setNumberPrecision(3);
+        stream.writeDouble(1.23456);
+        stream.writeSpace();
+        stream.writeFloat(-20.5f);
+        stream.writeSpace();
+        stream.writeDouble(7);
+        Assert.assertEquals("1.23 1.235 -20.5 7", new String(baos.toByteArray(), StandardCharsets.ISO_8859_1));
+    }
 }
@@ -87,6 +87,12 @@ public abstract class PdfSimpleFont<T extends FontProgram> extends PdfFont {
      */
     protected CMapToUnicode toUnicode;
 
+    /**
+     * The glyphs of all the single byte codes, indexed by code. It is built on the first decoding
+     * of a font parsed from the document, so that the text of every following string is decoded by array lookups.
+     */
+    private transient volatile Glyph[] decodedGlyphs;
+
     protected PdfSimpleFont(PdfDictionary fontDictionary) {
         super(fontDictionary);
         toUnicode = FontUtil.processToUnicode(fontDictionary.get(PdfName.ToUnicode));
@@ -280,23 +286,10 @@ public abstract class PdfSimpleFont<T extends FontProgram> extends PdfFont {
     public GlyphLine decodeIntoGlyphLine(PdfString content) {
         byte[] contentBytes = content.getValueBytes();
         List<Glyph> glyphs = new ArrayList<>(contentBytes.length);
+        Glyph[] decodedGlyphs = newFont ? null : getDecodedGlyphs();
         for (byte b : contentBytes) {
             int code = b & 0xff;
-            Glyph glyph = null;
-            if (toUnicode != null && toUnicode.lookup(code) != null && (glyph = fontProgram.getGlyphByCode(code)) != null) {
-                if (!Arrays.equals(toUnicode.lookup(code), glyph.getChars())) {
-                    // Copy the glyph because the original one may be reused (e.g. standard Helvetica font program)
-                    glyph = new Glyph(glyph);
-                    glyph.setChars(toUnicode.lookup(code));
-                }
-            } else {
-                int uni = fontEncoding.getUnicode(code);
-                if (uni > -1) {
-                    glyph = getGlyph(uni);
-                } else if (fontEncoding.getBaseEncoding() == null) {
-                    glyph = fontProgram.getGlyphByCode(code);
-                }
-            }
+            Glyph glyph = decodedGlyphs != null ? decodedGlyphs[code] : decodeGlyph(code);
             if (glyph != null) {
                 glyphs.add(glyph);
             }
@@ -307,6 +300,16 @@ public abstract class PdfSimpleFont<T extends FontProgram> extends PdfFont {
     @Override
     public float getContentWidth(PdfString content) {
         float width = 0;
+        if (!newFont) {
+            Glyph[] decodedGlyphs = getDecodedGlyphs();
+            for (byte b : content.getValueBytes()) {
+                Glyph glyph = decodedGlyphs[b & 0xff];
+                if (glyph != null) {
+                    width += glyph.getWidth();
+                }
+            }
+            return width;
+        }
         GlyphLine glyphLine = decodeIntoGlyphLine(content);
         for (int i = glyphLine.start; i < glyphLine.end; i++) {
             width += glyphLine.get(i).getWidth();
@@ -488,4 +491,47 @@ public abstract class PdfSimpleFont<T extends FontProgram> extends PdfFont {
     protected double getGlyphWidth(Glyph glyph) {
         return glyph != null ? glyph.getWidth() : 0;
     }
+
+    /**
+     * Drops the decoded glyphs table. Shall be called whenever the encoding or the glyphs of the font change.
+     */
+    void resetDecodedGlyphs() {
+        decodedGlyphs = null;
+    }
+
+    private Glyph[] getDecodedGlyphs() {
+        Glyph[] glyphs = decodedGlyphs;
+        if (glyphs == null) {
+            synchronized (this) {
+                glyphs = decodedGlyphs;
+                if (glyphs == null) {
+                    glyphs = new Glyph[PdfFont.SIMPLE_FONT_MAX_CHAR_CODE_VALUE + 1];
+                    for (int code = 0; code < glyphs.length; code++) {
+                        glyphs[code] = decodeGlyph(code);
+                    }
+                    decodedGlyphs = glyphs;
+                }
+            }
+        }
+        return glyphs;
+    }
+
+    private Glyph decodeGlyph(int code) {
+        Glyph glyph = null;
+        if (toUnicode != null && toUnicode.lookup(code) != null && (glyph = fontProgram.getGlyphByCode(code)) != null) {
+            if (!Arrays.equals(toUnicode.lookup(code), glyph.getChars())) {
+                // Copy the glyph because the original one may be reused (e.g. standard Helvetica font program)
+                glyph = new Glyph(glyph);
+                glyph.setChars(toUnicode.lookup(code));
+            }
+        } else {
+            int uni = fontEncoding.getUnicode(code);
+            if (uni > -1) {
+                glyph = getGlyph(uni);
+            } else if (fontEncoding.getBaseEncoding() == null) {
+                glyph = fontProgram.getGlyphByCode(code);
+            }
+        }
+        return glyph;
+    }
 }
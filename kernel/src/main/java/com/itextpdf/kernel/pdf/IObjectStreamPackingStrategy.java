@@ -0,0 +1,78 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+/**
+ * Interface used to decide how objects are packed into object streams in full compression mode,
+ * see {@link WriterProperties#setObjectStreamPackingStrategy(IObjectStreamPackingStrategy)}.
+ * <p>
+ * Implementations shall be stateless, since the same instance can be shared between several writers.
+ */
+public interface IObjectStreamPackingStrategy {
+
+    /**
+     * Checks whether the current object stream is full, i.e. whether the next object shall be
+     * placed into a new object stream. The check is performed before adding each object.
+     *
+     * @param objectCount   the number of objects in the current object stream, always positive
+     * @param contentLength the length in bytes of the uncompressed object data of the current object stream
+     * @return true if the current object stream shall be closed, false otherwise
+     */
+    boolean isObjectStreamFull(int objectCount, long contentLength);
+
+    /**
+     * Checks whether a new object stream shall be started for the objects of the page which is being flushed,
+     * so that the objects of a page don't spread over several object streams. Only the objects which are
+     * flushed together with the page are considered as the objects of the page.
+     *
+     * @param objectCount           the number of objects in the current object stream, always positive
+     * @param contentLength         the length in bytes of the uncompressed object data of the current object stream
+     * @param lastPageObjectCount   the number of objects which were packed into object streams while
+     *                              flushing the previous page, or 0 if no pages were flushed yet
+     * @param lastPageContentLength the length in bytes of the uncompressed data of such objects
+     * @return true if the current object stream shall be closed, false otherwise
+     */
+    boolean isNewObjectStreamForPageRequired(int objectCount, long contentLength, int lastPageObjectCount,
+            long lastPageContentLength);
+}
@@ -0,0 +1,83 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+/**
+ * {@link IObjectStreamPackingStrategy} which keeps objects of a page together. When a page is flushed,
+ * the current object stream is closed if the objects of the page are not expected to fit into it.
+ * The number of objects and the data length of the previous page are used as the estimation,
+ * which works well for the documents where pages are flushed in order and have similar structure.
+ * <p>
+ * As a result a reader needs to decompress fewer object streams to render a page, at the cost of
+ * object streams being filled less densely.
+ */
+public class PageAlignedObjectStreamPackingStrategy extends DefaultObjectStreamPackingStrategy {
+
+    private static final long serialVersionUID = -2241574283105712354L;
+
+    /**
+     * Creates the strategy with the default bounds of an object stream.
+     */
+    public PageAlignedObjectStreamPackingStrategy() {
+        super();
+    }
+
+    /**
+     * Creates the strategy with the given bounds of an object stream.
+     *
+     * @param maxObjectCount   the maximum number of objects in an object stream
+     * @param maxContentLength the length in bytes of uncompressed object data after which an object
+     *                         stream is closed
+     */
+    public PageAlignedObjectStreamPackingStrategy(int maxObjectCount, long maxContentLength) {
+        super(maxObjectCount, maxContentLength);
+    }
+
+    @Override
+    public boolean isNewObjectStreamForPageRequired(int objectCount, long contentLength, int lastPageObjectCount,
+            long lastPageContentLength) {
+        return objectCount + lastPageObjectCount > getMaxObjectCount()
+                || contentLength + lastPageContentLength > getMaxContentLength();
+    }
+}
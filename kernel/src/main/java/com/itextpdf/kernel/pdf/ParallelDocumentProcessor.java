@@ -0,0 +1,257 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.IndependentRandomAccessSource;
+import com.itextpdf.kernel.PdfException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes parts of a document by several worker tasks, every task reads the document with its own
+ * {@link PdfReader}. All the readers share one source of bytes, which therefore shall support concurrent reads.
+ * <p>
+ * This file is a helper class for internal usage only.
+ * Be aware that it's API and functionality may be changed in future.
+ */
+public final class ParallelDocumentProcessor {
+
+    private final IRandomAccessSource source;
+    private final ReaderProperties readerProperties;
+
+    /**
+     * Creates a new instance of ParallelDocumentProcessor class.
+     *
+     * @param source the source of the document, shall support concurrent reads
+     * @param readerProperties properties of the readers which read the source document. Every reader gets
+     *                         its own copy of the properties and its own {@link MemoryLimitsAwareHandler}
+     *                         with the same limits, since the handler is stateful
+     */
+    public ParallelDocumentProcessor(IRandomAccessSource source, ReaderProperties readerProperties) {
+        this.source = source;
+        this.readerProperties = readerProperties;
+    }
+
+    /**
+     * Opens the document with a new reader.
+     *
+     * @param documentProperties properties of the opened document
+     * @return the opened document
+     * @throws IOException if the document can't be read
+     */
+    public PdfDocument openDocument(DocumentProperties documentProperties) throws IOException {
+        return new PdfDocument(new PdfReader(new IndependentRandomAccessSource(source),
+                copyReaderProperties(readerProperties)), documentProperties);
+    }
+
+    /**
+     * Processes the items by the worker tasks. Items are distributed between the workers dynamically,
+     * no more items are taken as soon as one of the workers fails. The method doesn't return or throw
+     * until all the started worker tasks have finished and closed their documents, the tasks which
+     * haven't started yet are cancelled.
+     *
+     * @param executor the executor which runs worker tasks, it is not shut down
+     * @param workersCount the maximum number of worker tasks
+     * @param itemsCount the number of items to be processed
+     * @param documentProperties properties of the documents opened by the workers
+     * @param workerFactory the factory of the workers, it is called from the worker threads
+     */
+    public void process(ExecutorService executor, int workersCount, int itemsCount,
+            DocumentProperties documentProperties, IWorkerFactory workerFactory) {
+        int workers = Math.min(workersCount, itemsCount);
+        AtomicInteger nextItem = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<WorkerTask> tasks = new ArrayList<>(workers);
+        List<Future<Void>> results = new ArrayList<>(workers);
+        boolean completed = false;
+        try {
+            for (int i = 0; i < workers; i++) {
+                WorkerTask task = new WorkerTask(itemsCount, nextItem, failed, documentProperties, workerFactory);
+                tasks.add(task);
+                results.add(executor.submit(task));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+            completed = true;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new PdfException(PdfException.IoException, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(e);
+        } finally {
+            if (!completed) {
+                failed.set(true);
+                stopWorkerTasks(tasks, results);
+            }
+        }
+    }
+
+    private static void stopWorkerTasks(List<WorkerTask> tasks, List<Future<Void>> results) {
+        boolean interrupted = false;
+        for (int i = 0; i < results.size(); i++) {
+            if (tasks.get(i).cancelIfNotStarted()) {
+                results.get(i).cancel(false);
+                continue;
+            }
+            // a started task can't be stopped by the cancellation, so it is waited for
+            boolean finished = false;
+            while (!finished) {
+                try {
+                    results.get(i).get();
+                    finished = true;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) {
+                    // the first failure is reported, the following ones are caused by it or don't matter anymore
+                    finished = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ReaderProperties copyReaderProperties(ReaderProperties properties) {
+        ReaderProperties copy = new ReaderProperties();
+        copy.password = properties.password;
+        copy.certificateKey = properties.certificateKey;
+        copy.certificate = properties.certificate;
+        copy.certificateKeyProvider = properties.certificateKeyProvider;
+        copy.externalDecryptionProcess = properties.externalDecryptionProcess;
+        copy.lazyXrefReading = properties.lazyXrefReading;
+        MemoryLimitsAwareHandler handler = properties.memoryLimitsAwareHandler;
+        if (handler != null) {
+            copy.memoryLimitsAwareHandler = new MemoryLimitsAwareHandler()
+                    .setMaxSizeOfSingleDecompressedPdfStream(handler.getMaxSizeOfSingleDecompressedPdfStream())
+                    .setMaxSizeOfDecompressedPdfStreamsSum(handler.getMaxSizeOfDecompressedPdfStreamsSum());
+        }
+        return copy;
+    }
+
+    private final class WorkerTask implements Callable<Void> {
+        private final int itemsCount;
+        private final AtomicInteger nextItem;
+        private final AtomicBoolean failed;
+        private final DocumentProperties documentProperties;
+        private final IWorkerFactory workerFactory;
+        private final AtomicBoolean started = new AtomicBoolean(false);
+
+        WorkerTask(int itemsCount, AtomicInteger nextItem, AtomicBoolean failed,
+                DocumentProperties documentProperties, IWorkerFactory workerFactory) {
+            this.itemsCount = itemsCount;
+            this.nextItem = nextItem;
+            this.failed = failed;
+            this.documentProperties = documentProperties;
+            this.workerFactory = workerFactory;
+        }
+
+        @Override
+        public Void call() throws IOException {
+            if (!started.compareAndSet(false, true)) {
+                return null;
+            }
+            try (PdfDocument document = openDocument(documentProperties)) {
+                IWorker worker = workerFactory.createWorker(document);
+                int item;
+                while (!failed.get() && (item = nextItem.getAndIncrement()) < itemsCount) {
+                    worker.process(item);
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                failed.set(true);
+                throw e;
+            }
+            return null;
+        }
+
+        boolean cancelIfNotStarted() {
+            return started.compareAndSet(false, true);
+        }
+    }
+
+    /**
+     * The factory which creates a worker for every worker task.
+     */
+    public interface IWorkerFactory {
+
+        /**
+         * Creates a worker. The method is called from worker threads concurrently.
+         *
+         * @param document the document opened for the worker task
+         * @return a new worker
+         */
+        IWorker createWorker(PdfDocument document);
+    }
+
+    /**
+     * The worker which processes items with the document of its task.
+     */
+    public interface IWorker {
+
+        /**
+         * Processes the item.
+         *
+         * @param item the zero-based index of the item
+         * @throws IOException if the document can't be read
+         */
+        void process(int item) throws IOException;
+    }
+}
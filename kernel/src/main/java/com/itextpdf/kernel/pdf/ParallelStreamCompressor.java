@@ -0,0 +1,159 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.PdfException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compresses stream contents on a bounded pool of worker threads and keeps track of the streams
+ * which are waiting to be written by the {@link PdfWriter}.
+ * Streams are handed back to the writer strictly in the order they were submitted.
+ * NOTE Only for internal use in PdfWriter!
+ */
+class ParallelStreamCompressor {
+
+    /**
+     * Max number of not yet written streams per worker thread. When the limit is reached
+     * the writing thread waits for the oldest stream to be compressed.
+     */
+    private static final int MAX_PENDING_STREAMS_PER_WORKER = 4;
+
+    private final ExecutorService executor;
+    private final int maxPendingStreams;
+    private final Deque<PendingStream> pendingStreams = new ArrayDeque<>();
+
+    ParallelStreamCompressor(int workerCount) {
+        this.executor = Executors.newFixedThreadPool(workerCount, new WorkerThreadFactory());
+        this.maxPendingStreams = workerCount * MAX_PENDING_STREAMS_PER_WORKER;
+    }
+
+    /**
+     * Submits the stream for compression. The stream content shall not be modified after this call.
+     *
+     * @param pdfStream the stream prepared by {@link PdfOutputStream#prepareStreamForDeferredCompression(PdfStream)}
+     */
+    void submit(final PdfStream pdfStream) {
+        Future<ByteArrayOutputStream> compressedContent = executor.submit(new Callable<ByteArrayOutputStream>() {
+            @Override
+            public ByteArrayOutputStream call() throws Exception {
+                return PdfOutputStream.compressStreamContent(pdfStream);
+            }
+        });
+        pendingStreams.addLast(new PendingStream(pdfStream, compressedContent));
+    }
+
+    /**
+     * Checks if the oldest submitted stream shall be written now.
+     *
+     * @param waitForAll if true, every pending stream is considered ready to be written
+     * @return true if there is a pending stream which compression is finished, or which writing
+     * can't be postponed anymore
+     */
+    boolean hasStreamToWrite(boolean waitForAll) {
+        PendingStream head = pendingStreams.peekFirst();
+        return head != null && (waitForAll || pendingStreams.size() > maxPendingStreams || head.compressedContent.isDone());
+    }
+
+    /**
+     * Removes the oldest submitted stream from the queue.
+     * Use {@link PendingStream#getCompressedContent()} to wait for its compression to be finished.
+     *
+     * @return the oldest pending stream
+     */
+    PendingStream takeStream() {
+        return pendingStreams.pollFirst();
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+        pendingStreams.clear();
+    }
+
+    static class PendingStream {
+        private final PdfStream pdfStream;
+        private final Future<ByteArrayOutputStream> compressedContent;
+
+        PendingStream(PdfStream pdfStream, Future<ByteArrayOutputStream> compressedContent) {
+            this.pdfStream = pdfStream;
+            this.compressedContent = compressedContent;
+        }
+
+        PdfStream getPdfStream() {
+            return pdfStream;
+        }
+
+        ByteArrayOutputStream getCompressedContent() {
+            try {
+                return compressedContent.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PdfException(PdfException.CannotWriteToPdfStream, e, pdfStream);
+            } catch (ExecutionException e) {
+                throw new PdfException(PdfException.CannotWriteToPdfStream, e.getCause(), pdfStream);
+            }
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "itext-stream-compression-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
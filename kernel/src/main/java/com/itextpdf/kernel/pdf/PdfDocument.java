@@ -221,7 +221,12 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
     /**
      * Cache of already serialized objects from this document for smart mode.
      */
-    Map<PdfIndirectReference, byte[]> serializedObjectsCache = new HashMap<>();
+    Map<PdfIndirectReference, SerializedObjectContent> serializedObjectsCache = new HashMap<>();
+
+    /**
+     * Cache of digests of already serialized objects from this document for digest based smart mode.
+     */
+    Map<PdfIndirectReference, SerializedObjectContent> digestedObjectsCache = new HashMap<>();
 
     /**
      * Handler which will be used for decompression of pdf streams.
@@ -893,7 +898,7 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
 
                     writer.flushModifiedWaitingObjects(forbiddenToFlush);
                     for (int i = 0; i < xref.size(); i++) {
-                        PdfIndirectReference indirectReference = xref.get(i);
+                        PdfIndirectReference indirectReference = xref.getInstantiated(i);
                         if (indirectReference != null && !indirectReference.isFree()
                                 && indirectReference.checkState(PdfObject.MODIFIED) && !indirectReference.checkState(PdfObject.FLUSHED)
                                 && !forbiddenToFlush.contains(indirectReference)) {
@@ -948,6 +953,9 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
                     }
                 }
 
+                // Streams compressed in parallel shall be written before crypto is removed
+                writer.writeCompressedStreams(true);
+
                 // To avoid encryption of XrefStream and Encryption dictionary remove crypto.
                 // NOTE. No need in reverting, because it is the last operation with the document.
                 writer.crypto = null;
@@ -1337,6 +1345,22 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
         }
     }
 
+    /**
+     * Removes objects copied from the source document from copied cache without flushing them.
+     * <p>
+     * Note, if you will copy objects from the same document after that, duplicated objects will be created.
+     * The method is meant to release the memory used by the cache when all copying from the source document
+     * is finished, e.g. when a large number of documents is merged. Copied objects are still written
+     * to the document when they are flushed or when the document is closed.
+     *
+     * @param sourceDoc source document
+     */
+    public void clearCopiedObjectsCache(PdfDocument sourceDoc) {
+        if (getWriter() != null) {
+            getWriter().clearCopiedObjectsCache(sourceDoc.getDocumentId());
+        }
+    }
+
     /**
      * Checks, whether {@link #close()} method will close associated PdfReader.
      *
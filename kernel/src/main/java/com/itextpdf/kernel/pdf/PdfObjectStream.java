@@ -43,7 +43,6 @@
  */
 package com.itextpdf.kernel.pdf;
 
-import com.itextpdf.kernel.PdfException;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 
 
@@ -52,7 +51,7 @@ class PdfObjectStream extends PdfStream {
     private static final long serialVersionUID = -3513488307665597642L;
 
     /**
-     * Max number of objects in object stream.
+     * Default max number of objects in object stream, see {@link DefaultObjectStreamPackingStrategy}.
      */
     public static final int MAX_OBJ_STREAM_SIZE = 200;
 
@@ -101,9 +100,6 @@ class PdfObjectStream extends PdfStream {
      * @param object object to add.
      */
     public void addObject(PdfObject object) {
-        if (size.intValue() == MAX_OBJ_STREAM_SIZE) {
-            throw new PdfException(PdfException.PdfObjectStreamReachMaxSize);
-        }
         PdfOutputStream outputStream = getOutputStream();
         indexStream.writeInteger(object.getIndirectReference().getObjNumber()).
                 writeSpace().
@@ -126,6 +122,15 @@ class PdfObjectStream extends PdfStream {
         return size.intValue();
     }
 
+    /**
+     * Gets the length of the object data written to the object stream, not including the index.
+     *
+     * @return length of the uncompressed object data in bytes.
+     */
+    long getContentLength() {
+        return getOutputStream().getCurrentPos();
+    }
+
     public PdfOutputStream getIndexStream() {
         return indexStream;
     }
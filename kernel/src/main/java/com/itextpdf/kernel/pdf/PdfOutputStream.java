@@ -286,10 +286,7 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         try {
             boolean userDefinedCompression = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
             if (!userDefinedCompression) {
-                int defaultCompressionLevel = document != null ?
-                        document.getWriter().getCompressionLevel() :
-                        CompressionConstants.DEFAULT_COMPRESSION;
-                pdfStream.setCompressionLevel(defaultCompressionLevel);
+                pdfStream.setCompressionLevel(getDefaultCompressionLevel());
             }
             boolean toCompress = pdfStream.getCompressionLevel() != CompressionConstants.NO_COMPRESSION;
             boolean allowCompression = !pdfStream.containsKey(PdfName.Filter) && isNotMetadataPdfStream(pdfStream);
@@ -326,12 +323,21 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 pdfStream.updateLength(length.intValue());
                 writeBytes(PdfOutputStream.endstream);
             } else {
+                PdfReader rawContentReader = pdfStream.getRawContentReader();
+                if (rawContentReader != null && !userDefinedCompression
+                        && !(toCompress && !containsFlateFilter(pdfStream) && allowCompression)
+                        && rawContentReader.isRawStreamBytesCopyAllowed() && !checkEncryption(pdfStream)) {
+                    // Unmodified stream of a read or copied document is written as is, its content
+                    // is copied from the source document without reading it into memory as a whole.
+                    writeRawStream(pdfStream, rawContentReader);
+                    return;
+                }
                 //When document is opened in stamping mode the output stream can be uninitialized.
                 //We have to initialize it and write all data from streams input to streams output.
-                if (pdfStream.getOutputStream() == null && pdfStream.getIndirectReference().getReader() != null) {
+                if (pdfStream.getOutputStream() == null && rawContentReader != null) {
                     // If new specific compression is set for stream,
                     // then compressed stream should be decoded and written with new compression settings
-                    byte[] bytes = pdfStream.getIndirectReference().getReader().readStreamBytes(pdfStream, false);
+                    byte[] bytes = rawContentReader.readStreamBytes(pdfStream, false);
                     if (userDefinedCompression) {
                         bytes = decodeFlateBytes(pdfStream, bytes);
                     }
@@ -344,17 +350,7 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                     if (toCompress && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression)) {
                         // compress
                         updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        }
-                        zip.finish();
+                        byteArrayStream = compressStreamContent(pdfStream);
                     } else {
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
@@ -366,29 +362,106 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                             byteArrayStream = (ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream();
                         }
                     }
-                    if (checkEncryption(pdfStream)) {
-                        ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
-                        OutputStreamEncryption ose = crypto.getEncryptionStream(encodedStream);
-                        byteArrayStream.writeTo(ose);
-                        ose.finish();
-                        byteArrayStream = encodedStream;
-                    }
                 } catch (IOException ioe) {
                     throw new PdfException(PdfException.IoException, ioe);
                 }
-                pdfStream.put(PdfName.Length, new PdfNumber(byteArrayStream.size()));
-                pdfStream.updateLength((int) byteArrayStream.size());
-                this.write((PdfDictionary) pdfStream);
-                writeBytes(PdfOutputStream.stream);
-                byteArrayStream.writeTo(this);
-                byteArrayStream.close();
-                writeBytes(PdfOutputStream.endstream);
+                writeEncodedStream(pdfStream, byteArrayStream);
             }
         } catch (IOException e) {
             throw new PdfException(PdfException.CannotWriteToPdfStream, e, pdfStream);
         }
     }
 
+    /**
+     * Prepares the stream to be compressed outside of the {@link #write(PdfObject)} call.
+     * The stream is prepared only if its content is already buffered in memory and is going
+     * to be compressed with flate filter, in that case the compression level and
+     * the /Filter entry of the stream are updated the same way {@link #write(PdfObject)} would do.
+     *
+     * @param pdfStream the stream to prepare
+     * @return true if the stream content shall be compressed by {@link #compressStreamContent(PdfStream)}
+     * and written by {@link #writeEncodedStream(PdfStream, ByteArrayOutputStream)}, false if the stream
+     * has not been changed and shall be written as usual
+     */
+    boolean prepareStreamForDeferredCompression(PdfStream pdfStream) {
+        if (pdfStream instanceof PdfObjectStream || pdfStream.getInputStream() != null
+                || pdfStream.outputStream == null || isXRefStream(pdfStream)) {
+            return false;
+        }
+        boolean userDefinedCompression = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
+        int compressionLevel = userDefinedCompression ? pdfStream.getCompressionLevel() : getDefaultCompressionLevel();
+        boolean toCompress = compressionLevel != CompressionConstants.NO_COMPRESSION;
+        boolean allowCompression = !pdfStream.containsKey(PdfName.Filter) && isNotMetadataPdfStream(pdfStream);
+        if (toCompress && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression)) {
+            pdfStream.setCompressionLevel(compressionLevel);
+            updateCompressionFilter(pdfStream);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Compresses buffered content of the stream with its compression level.
+     * The method doesn't use the state of the output stream, so it can be safely called from any thread
+     * as long as the stream content is not modified concurrently.
+     *
+     * @param pdfStream the stream which content shall be compressed
+     * @return compressed content
+     * @throws IOException if an I/O error occurs during compression
+     */
+    static ByteArrayOutputStream compressStreamContent(PdfStream pdfStream) throws IOException {
+        ByteArrayOutputStream byteArrayStream = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
+        if (pdfStream instanceof PdfObjectStream) {
+            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
+            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+        } else {
+            assert pdfStream.getOutputStream() != null : "Error in outputStream";
+            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+        }
+        zip.finish();
+        return byteArrayStream;
+    }
+
+    /**
+     * Writes the stream dictionary followed by the already encoded stream content.
+     * The content is encrypted here if it's required.
+     *
+     * @param pdfStream       the stream to write
+     * @param byteArrayStream encoded content of the stream
+     * @throws IOException if an I/O error occurs
+     */
+    void writeEncodedStream(PdfStream pdfStream, ByteArrayOutputStream byteArrayStream) throws IOException {
+        if (checkEncryption(pdfStream)) {
+            ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
+            OutputStreamEncryption ose = crypto.getEncryptionStream(encodedStream);
+            byteArrayStream.writeTo(ose);
+            ose.finish();
+            byteArrayStream = encodedStream;
+        }
+        pdfStream.put(PdfName.Length, new PdfNumber(byteArrayStream.size()));
+        pdfStream.updateLength((int) byteArrayStream.size());
+        this.write((PdfDictionary) pdfStream);
+        writeBytes(PdfOutputStream.stream);
+        byteArrayStream.writeTo(this);
+        byteArrayStream.close();
+        writeBytes(PdfOutputStream.endstream);
+    }
+
+    private void writeRawStream(PdfStream pdfStream, PdfReader reader) throws IOException {
+        int length = reader.getStreamLengthRaw(pdfStream);
+        pdfStream.put(PdfName.Length, new PdfNumber(length));
+        this.write((PdfDictionary) pdfStream);
+        writeBytes(PdfOutputStream.stream);
+        reader.copyStreamBytesRaw(pdfStream, this);
+        writeBytes(PdfOutputStream.endstream);
+    }
+
+    private int getDefaultCompressionLevel() {
+        return document != null ? document.getWriter().getCompressionLevel() : CompressionConstants.DEFAULT_COMPRESSION;
+    }
+
     protected boolean checkEncryption(PdfStream pdfStream) {
         if (crypto == null || crypto.isEmbeddedFilesOnly()) {
             return false;
@@ -510,52 +510,62 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
         if (isFlushed()) {
             return;
         }
-        getDocument().dispatchEvent(new PdfDocumentEvent(PdfDocumentEvent.END_PAGE, this));
-
-        if (getDocument().isTagged() && !getDocument().getStructTreeRoot().isFlushed()) {
-            tryFlushPageTags();
+        PdfWriter writer = getDocument().getWriter();
+        if (writer != null) {
+            writer.startPageFlush();
         }
+        try {
+            getDocument().dispatchEvent(new PdfDocumentEvent(PdfDocumentEvent.END_PAGE, this));
 
-        if (resources == null) {
-            // ensure that either resources are inherited or add empty resources dictionary
-            initResources(false);
-        } else if (resources.isModified() && !resources.isReadOnly()) {
-            put(PdfName.Resources, resources.getPdfObject());
-        }
-        if (flushResourcesContentStreams) {
-            getDocument().checkIsoConformance(this, IsoKey.PAGE);
-            flushResourcesContentStreams();
-        }
+            if (getDocument().isTagged() && !getDocument().getStructTreeRoot().isFlushed()) {
+                tryFlushPageTags();
+            }
 
-        PdfArray annots = getAnnots(false);
-        if (annots != null && !annots.isFlushed()) {
-            for (int i = 0; i < annots.size(); ++i) {
-                PdfObject a = annots.get(i);
-                if (a != null) {
-                    a.makeIndirect(getDocument()).flush();
+            if (resources == null) {
+                // ensure that either resources are inherited or add empty resources dictionary
+                initResources(false);
+            } else if (resources.isModified() && !resources.isReadOnly()) {
+                put(PdfName.Resources, resources.getPdfObject());
+            }
+            if (flushResourcesContentStreams) {
+                getDocument().checkIsoConformance(this, IsoKey.PAGE);
+                flushResourcesContentStreams();
+            }
+
+            PdfArray annots = getAnnots(false);
+            if (annots != null && !annots.isFlushed()) {
+                for (int i = 0; i < annots.size(); ++i) {
+                    PdfObject a = annots.get(i);
+                    if (a != null) {
+                        a.makeIndirect(getDocument()).flush();
+                    }
                 }
             }
-        }
 
-        PdfStream thumb = getPdfObject().getAsStream(PdfName.Thumb);
-        if (thumb != null) {
-            thumb.flush();
-        }
+            PdfStream thumb = getPdfObject().getAsStream(PdfName.Thumb);
+            if (thumb != null) {
+                thumb.flush();
+            }
 
-        PdfObject contentsObj = getPdfObject().get(PdfName.Contents);
-        // avoid trying to operate with flushed /Contents array
-        if (contentsObj != null && !contentsObj.isFlushed()) {
-            int contentStreamCount = getContentStreamCount();
-            for (int i = 0; i < contentStreamCount; i++) {
-                PdfStream contentStream = getContentStream(i);
-                if (contentStream != null) {
-                    contentStream.flush(false);
+            PdfObject contentsObj = getPdfObject().get(PdfName.Contents);
+            // avoid trying to operate with flushed /Contents array
+            if (contentsObj != null && !contentsObj.isFlushed()) {
+                int contentStreamCount = getContentStreamCount();
+                for (int i = 0; i < contentStreamCount; i++) {
+                    PdfStream contentStream = getContentStream(i);
+                    if (contentStream != null) {
+                        contentStream.flush(false);
+                    }
                 }
             }
-        }
-        releaseInstanceFields();
+            releaseInstanceFields();
 
-        super.flush();
+            super.flush();
+        } finally {
+            if (writer != null) {
+                writer.finishPageFlush();
+            }
+        }
     }
 
     /**
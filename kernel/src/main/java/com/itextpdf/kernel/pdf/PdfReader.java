@@ -63,7 +63,10 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -80,6 +83,7 @@ public class PdfReader implements Closeable, Serializable {
     private static final String endstream4 = "\rendstream";
     private static final byte[] endstream = ByteUtils.getIsoBytes("endstream");
     private static final byte[] endobj = ByteUtils.getIsoBytes("endobj");
+    private static final int RAW_STREAM_COPY_BUFFER_SIZE = 64 * 1024;
 
     protected static boolean correctStreamLength = true;
 
@@ -93,6 +97,16 @@ public class PdfReader implements Closeable, Serializable {
     // For internal usage only
     private String sourcePath;
 
+    // offset of the next cross-reference section which is to be read on demand, -1 if there is no such section
+    private long nextXrefSection = -1;
+    private boolean nextXrefSectionIsStream;
+    // separate tokenizer for on demand reading of cross-reference sections, which can happen in the middle of object parsing.
+    // References to the objects which are not defined yet are allowed while it is in use, as in the initial xref reading
+    private transient PdfTokenizer xrefSectionTokens;
+
+    // streams of other documents which unmodified content is copied directly from this document on writing
+    private transient Set<PdfStream> rawContentCopies;
+
     protected PdfTokenizer tokens;
     protected PdfEncryption decrypt;
 
@@ -192,6 +206,13 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error.
      */
     public void close() throws IOException {
+        if (rawContentCopies != null) {
+            // the content of the copied streams which are not written yet has to be loaded while the source is available
+            for (PdfStream stream : new ArrayList<>(rawContentCopies)) {
+                stream.loadRawContent();
+            }
+            rawContentCopies = null;
+        }
         tokens.close();
     }
 
@@ -389,6 +410,88 @@ public class PdfReader implements Closeable, Serializable {
         return bytes;
     }
 
+    /**
+     * Checks whether the raw stream bytes returned by {@link #readStreamBytesRaw(PdfStream)} are the bytes
+     * which are stored in the document, i.e. whether they are not decrypted.
+     *
+     * @return true if the raw stream bytes can be copied directly from the document, false otherwise
+     */
+    boolean isRawStreamBytesCopyAllowed() {
+        return decrypt == null || decrypt.isEmbeddedFilesOnly();
+    }
+
+    /**
+     * Gets the length of the raw stream bytes which will be copied by {@link #copyStreamBytesRaw(PdfStream, java.io.OutputStream)}.
+     * The length is corrected the same way as in {@link #readStreamBytesRaw(PdfStream)}.
+     *
+     * @param stream a {@link PdfStream} stream instance which bytes are to be copied
+     * @return the length of the raw stream bytes
+     * @throws IOException on error.
+     */
+    int getStreamLengthRaw(PdfStream stream) throws IOException {
+        PdfName type = stream.getAsName(PdfName.Type);
+        if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
+            checkPdfStreamLength(stream);
+        if (stream.getOffset() <= 0)
+            return 0;
+        return Math.max(0, stream.getLength());
+    }
+
+    /**
+     * Copies raw stream bytes, as they are stored in the document, to the given output stream
+     * without reading the whole stream into memory. Should be called only if
+     * {@link #isRawStreamBytesCopyAllowed()} returns true and after {@link #getStreamLengthRaw(PdfStream)}.
+     *
+     * @param stream a {@link PdfStream} stream instance which bytes are to be copied
+     * @param out    the output stream to copy the bytes to
+     * @throws IOException on error.
+     */
+    void copyStreamBytesRaw(PdfStream stream, java.io.OutputStream out) throws IOException {
+        int length = stream.getLength();
+        if (stream.getOffset() <= 0 || length <= 0)
+            return;
+        RandomAccessFileOrArray file = tokens.getSafeFile();
+        try {
+            file.seek(stream.getOffset());
+            byte[] buffer = new byte[Math.min(length, RAW_STREAM_COPY_BUFFER_SIZE)];
+            int remaining = length;
+            while (remaining > 0) {
+                int read = Math.min(remaining, buffer.length);
+                file.readFully(buffer, 0, read);
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        } finally {
+            try {
+                file.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    /**
+     * Registers the stream of another document which content is going to be copied directly from this document.
+     *
+     * @param stream the stream which content is taken from this document
+     */
+    void addRawContentCopy(PdfStream stream) {
+        if (rawContentCopies == null) {
+            rawContentCopies = new LinkedHashSet<>();
+        }
+        rawContentCopies.add(stream);
+    }
+
+    /**
+     * Unregisters the stream which content doesn't need to be copied from this document anymore.
+     *
+     * @param stream the stream which content was taken from this document
+     */
+    void removeRawContentCopy(PdfStream stream) {
+        if (rawContentCopies != null) {
+            rawContentCopies.remove(stream);
+        }
+    }
+
     /**
      * Reads, decrypts and optionally decodes stream bytes into {@link ByteArrayInputStream}.
      * User is responsible for closing returned stream.
@@ -687,6 +790,10 @@ public class PdfReader implements Closeable, Serializable {
             rebuildXref();
         }
         pdfDocument.getXref().markReadingCompleted();
+        if (hasPendingXrefSections() && trailer.containsKey(PdfName.Encrypt)) {
+            // xref streams are never encrypted, so all the sections have to be read before decryption is set up
+            pdfDocument.getXref().readPendingSections();
+        }
         readDecryptObj();
     }
 
@@ -767,7 +874,8 @@ public class PdfReader implements Closeable, Serializable {
             return createPdfNullInstance(readAsDirect);
         }
         PdfXrefTable table = pdfDocument.getXref();
-        PdfIndirectReference reference = table.get(num);
+        // objects from the cross-reference sections which are not read yet are looked up only when they are requested
+        PdfIndirectReference reference = table.get(num, false);
         if (reference != null) {
             if (reference.isFree()) {
                 Logger logger = LoggerFactory.getLogger(PdfReader.class);
@@ -785,7 +893,7 @@ public class PdfReader implements Closeable, Serializable {
                 }
             }
         } else {
-            if (table.isReadingCompleted()) {
+            if (table.isReadingCompleted() && !table.hasPendingSections() && tokens != xrefSectionTokens) {
                 Logger logger = LoggerFactory.getLogger(PdfReader.class);
                 logger.warn(MessageFormatUtil.format(LogMessageConstant.INVALID_INDIRECT_REFERENCE, tokens.getObjNr(), tokens.getGenNr()));
                 return createPdfNullInstance(readAsDirect);
@@ -920,13 +1028,16 @@ public class PdfReader implements Closeable, Serializable {
         long startxref = tokens.getLongValue();
         lastXref = startxref;
         eofPos = tokens.getPosition();
+        boolean lazyXrefReading = properties.lazyXrefReading && pdfDocument.getWriter() == null;
         try {
-            if (readXrefStream(startxref)) {
+            if (readXrefStream(startxref, lazyXrefReading)) {
                 xrefStm = true;
+                initPendingXrefSections();
                 return;
             }
         } catch (Exception ignored) {
         }
+        nextXrefSection = -1;
         // clear xref because of possible issues at reading xref stream.
         pdfDocument.getXref().clear();
 
@@ -945,6 +1056,11 @@ public class PdfReader implements Closeable, Serializable {
             if (prev.longValue() == startxref)
                 throw new PdfException(PdfException.TrailerPrevEntryPointsToItsOwnCrossReferenceSection);
             startxref = prev.longValue();
+            if (lazyXrefReading) {
+                nextXrefSection = startxref;
+                nextXrefSectionIsStream = false;
+                break;
+            }
             tokens.seek(startxref);
             trailer2 = readXrefSection();
         }
@@ -953,6 +1069,68 @@ public class PdfReader implements Closeable, Serializable {
         if (xrefSize == null) {
             throw new PdfException(PdfException.InvalidXrefTable);
         }
+        initPendingXrefSections();
+    }
+
+    /**
+     * Checks whether there are cross-reference sections which are not read yet,
+     * see {@link ReaderProperties#setLazyXrefReading(boolean)}.
+     *
+     * @return true if there are cross-reference sections to be read on demand, false otherwise
+     */
+    boolean hasPendingXrefSections() {
+        return nextXrefSection != -1;
+    }
+
+    /**
+     * Reads the next cross-reference section which was skipped while opening the document,
+     * see {@link ReaderProperties#setLazyXrefReading(boolean)}. Entries of the section are added
+     * to the cross-reference table only if they are not defined by the more recent sections.
+     *
+     * @return true if a section was read, false if there are no sections left to read
+     */
+    boolean readNextXrefSection() {
+        if (nextXrefSection == -1) {
+            return false;
+        }
+        long section = nextXrefSection;
+        boolean isStream = nextXrefSectionIsStream;
+        nextXrefSection = -1;
+        PdfTokenizer saveTokens = tokens;
+        try {
+            if (xrefSectionTokens == null) {
+                xrefSectionTokens = new PdfTokenizer(tokens.getSafeFile());
+            }
+            tokens = xrefSectionTokens;
+            if (isStream) {
+                if (!readXrefStream(section, true)) {
+                    throw new PdfException(PdfException.InvalidXrefStream);
+                }
+            } else {
+                tokens.seek(section);
+                PdfNumber prev = (PdfNumber) readXrefSection().get(PdfName.Prev);
+                if (prev != null) {
+                    if (prev.longValue() == section) {
+                        throw new PdfException(PdfException.TrailerPrevEntryPointsToItsOwnCrossReferenceSection);
+                    }
+                    nextXrefSection = prev.longValue();
+                    nextXrefSectionIsStream = false;
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            nextXrefSection = -1;
+            Logger logger = LoggerFactory.getLogger(PdfReader.class);
+            logger.error(MessageFormatUtil.format(LogMessageConstant.XREF_SECTION_CANNOT_BE_READ, section), ex);
+        } finally {
+            tokens = saveTokens;
+        }
+        return true;
+    }
+
+    private void initPendingXrefSections() {
+        if (hasPendingXrefSections()) {
+            pdfDocument.getXref().setPendingSectionsReader(this);
+        }
     }
 
     protected PdfDictionary readXrefSection() throws IOException {
@@ -996,18 +1174,8 @@ public class PdfReader implements Closeable, Serializable {
                     end--;
                     continue;
                 }
-                PdfIndirectReference reference = xref.get(num);
-                boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen;
-                // for references that are added by xref table itself (like 0 entry)
-                boolean refFirstEncountered = reference == null
-                        || !refReadingState && reference.getDocument() == null;
-
-                if (refFirstEncountered) {
-                    reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
-                } else if (refReadingState) {
-                    reference.setOffset(pos);
-                    reference.clearState(PdfObject.READING);
-                } else {
+                boolean free = tokens.tokenValueEqualsTo(PdfTokenizer.F);
+                if (!xref.addReadEntry(pdfDocument, num, gen, pos, 0, free)) {
                     continue;
                 }
 
@@ -1015,17 +1183,9 @@ public class PdfReader implements Closeable, Serializable {
                     if (pos == 0) {
                         tokens.throwError(PdfException.FilePosition1CrossReferenceEntryInThisXrefSubsection);
                     }
-                } else if (tokens.tokenValueEqualsTo(PdfTokenizer.F)) {
-                    if (refFirstEncountered) {
-                        reference.setState(PdfObject.FREE);
-                    }
-                } else {
+                } else if (!free) {
                     tokens.throwError(PdfException.InvalidCrossReferenceEntryInThisXrefSubsection);
                 }
-
-                if (refFirstEncountered) {
-                    xref.add(reference);
-                }
             }
         }
         PdfDictionary trailer = (PdfDictionary) readObject(false);
@@ -1037,7 +1197,9 @@ public class PdfReader implements Closeable, Serializable {
                 xrefStm = true;
                 hybridXref = true;
             } catch (IOException e) {
-                xref.clear();
+                if (!xref.isReadingCompleted()) {
+                    xref.clear();
+                }
                 throw e;
             }
         }
@@ -1045,6 +1207,10 @@ public class PdfReader implements Closeable, Serializable {
     }
 
     protected boolean readXrefStream(long ptr) throws IOException {
+        return readXrefStream(ptr, false);
+    }
+
+    private boolean readXrefStream(long ptr, boolean stopAtPrevSection) throws IOException {
         while (ptr != -1) {
             tokens.seek(ptr);
             if (!tokens.nextToken()) {
@@ -1121,39 +1287,29 @@ public class PdfReader implements Closeable, Serializable {
                     for (int k = 0; k < wc[2]; ++k) {
                         field3 = (field3 << 8) + (b[bptr++] & 0xff);
                     }
-                    int base = start;
-                    PdfIndirectReference newReference;
                     switch (type) {
                         case 0:
-                            newReference = (PdfIndirectReference) new PdfIndirectReference(pdfDocument, base, field3, field2).setState(PdfObject.FREE);
+                            xref.addReadEntry(pdfDocument, start, field3, field2, 0, true);
                             break;
                         case 1:
-                            newReference = new PdfIndirectReference(pdfDocument, base, field3, field2);
+                            xref.addReadEntry(pdfDocument, start, field3, field2, 0, false);
                             break;
                         case 2:
-                            newReference = new PdfIndirectReference(pdfDocument, base, 0, field3);
-                            newReference.setObjStreamNumber((int) field2);
+                            xref.addReadEntry(pdfDocument, start, 0, field3, (int) field2, false);
                             break;
                         default:
                             throw new PdfException(PdfException.InvalidXrefStream);
                     }
-
-                    PdfIndirectReference reference = xref.get(base);
-                    boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == newReference.getGenNumber();
-                    // for references that are added by xref table itself (like 0 entry)
-                    boolean refFirstEncountered = reference == null
-                            || !refReadingState && reference.getDocument() == null;
-
-                    if (refFirstEncountered) {
-                        xref.add(newReference);
-                    } else if (refReadingState) {
-                        reference.setOffset(newReference.getOffset());
-                        reference.setObjStreamNumber(newReference.getObjStreamNumber());
-                        reference.clearState(PdfObject.READING);
-                    }
                     ++start;
                 }
             }
+            if (stopAtPrevSection && prev != -1) {
+                if (prev != ptr) {
+                    nextXrefSection = prev;
+                    nextXrefSectionIsStream = true;
+                }
+                break;
+            }
             ptr = prev;
         }
         return true;
@@ -1162,6 +1318,7 @@ public class PdfReader implements Closeable, Serializable {
     protected void fixXref() throws IOException {
         fixedXref = true;
         PdfXrefTable xref = pdfDocument.getXref();
+        xref.readPendingSections();
         tokens.seek(0);
         ByteBuffer buffer = new ByteBuffer(24);
         PdfTokenizer lineTokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new ReusableRandomAccessSource(buffer)));
@@ -1187,6 +1344,7 @@ public class PdfReader implements Closeable, Serializable {
     }
 
     protected void rebuildXref() throws IOException {
+        nextXrefSection = -1;
         xrefStm = false;
         hybridXref = false;
         rebuiltXref = true;
@@ -1282,6 +1440,10 @@ public class PdfReader implements Closeable, Serializable {
             return null;
         if (reference.refersTo != null)
             return reference.refersTo;
+        if (reference.checkState(PdfObject.READING)) {
+            // the reference may be defined in a cross-reference section which is not read yet
+            pdfDocument.getXref().get(reference.getObjNumber());
+        }
         try {
             currentIndirectReference = reference;
             if (reference.getObjStreamNumber() > 0) {
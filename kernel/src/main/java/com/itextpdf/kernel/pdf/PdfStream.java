@@ -67,6 +67,13 @@ public class PdfStream extends PdfDictionary {
     private long offset;
     private int length = -1;
 
+    /**
+     * Reader of another document from which the unmodified content of this copied stream is taken
+     * directly on writing, see {@link #copyContent(PdfObject, PdfDocument)}. In this case the stream
+     * has no output stream, and its offset and length refer to the source document.
+     */
+    private transient PdfReader rawContentReader;
+
     /**
      * Constructs a {@code PdfStream}-object.
      *
@@ -186,6 +193,9 @@ public class PdfStream extends PdfDictionary {
      * @return output stream
      */
     public PdfOutputStream getOutputStream() {
+        if (rawContentReader != null) {
+            loadRawContent();
+        }
         return outputStream;
     }
 
@@ -262,7 +272,7 @@ public class PdfStream extends PdfDictionary {
         } else if (getIndirectReference() != null) {
             // This logic makes sense only for the case when PdfStream was created by reader and in this
             // case PdfStream instance always has indirect reference and is never in the MustBeIndirect state
-            PdfReader reader = getIndirectReference().getReader();
+            PdfReader reader = getRawContentReader();
             if (reader != null) {
                 try {
                     bytes = reader.readStreamBytes(this, decoded);
@@ -303,6 +313,13 @@ public class PdfStream extends PdfDictionary {
         if (inputStream != null) {
             throw new PdfException(PdfException.CannotSetDataToPdfStreamWhichWasCreatedByInputStream);
         }
+        if (rawContentReader != null) {
+            if (append) {
+                loadRawContent();
+            } else {
+                detachRawContent();
+            }
+        }
 
         boolean outputStreamIsUninitialized = outputStream == null;
         if (outputStreamIsUninitialized) {
@@ -366,6 +383,16 @@ public class PdfStream extends PdfDictionary {
         super.copyContent(from, document);
         PdfStream stream = (PdfStream) from;
         assert inputStream == null : "Try to copy the PdfStream that has been just created.";
+        PdfReader reader = stream.getRawContentReader();
+        if (reader != null && stream.getOffset() > 0 && reader.isRawStreamBytesCopyAllowed()) {
+            // unmodified content is copied directly from the source document when this stream is written
+            outputStream = null;
+            offset = stream.getOffset();
+            length = stream.getLength();
+            rawContentReader = reader;
+            reader.addRawContentCopy(this);
+            return;
+        }
         byte[] bytes = stream.getBytes(false);
         try {
             outputStream.write(bytes);
@@ -384,6 +411,7 @@ public class PdfStream extends PdfDictionary {
      */
     protected void releaseContent() {
         super.releaseContent();
+        detachRawContent();
         try {
             if (outputStream != null) {
                 outputStream.close();
@@ -398,6 +426,52 @@ public class PdfStream extends PdfDictionary {
         return inputStream;
     }
 
+    /**
+     * Gets the reader of the document which contains the encoded content of this stream,
+     * if the content is not loaded into memory.
+     *
+     * @return the reader to read the content from, or null if the content is in memory
+     */
+    PdfReader getRawContentReader() {
+        if (outputStream != null || inputStream != null) {
+            return null;
+        }
+        if (rawContentReader != null) {
+            return rawContentReader;
+        }
+        return getIndirectReference() != null ? getIndirectReference().getReader() : null;
+    }
+
+    /**
+     * Loads the content of the copied stream, which otherwise would be copied directly from
+     * the source document on writing, into memory.
+     */
+    void loadRawContent() {
+        if (rawContentReader == null) {
+            return;
+        }
+        byte[] bytes;
+        try {
+            bytes = rawContentReader.readStreamBytesRaw(this);
+        } catch (IOException ioe) {
+            throw new PdfException(PdfException.CannotCopyObjectContent, ioe, this);
+        }
+        detachRawContent();
+        outputStream = new PdfOutputStream(new ByteArrayOutputStream(bytes != null ? bytes.length : 0));
+        if (bytes != null) {
+            outputStream.writeBytes(bytes);
+        }
+    }
+
+    private void detachRawContent() {
+        if (rawContentReader != null) {
+            rawContentReader.removeRawContentCopy(this);
+            rawContentReader = null;
+            offset = 0;
+            length = -1;
+        }
+    }
+
     private void writeObject(ObjectOutputStream out) throws IOException {
         if (inputStream == null || inputStream instanceof Serializable) {
             out.defaultWriteObject();
@@ -47,6 +47,7 @@ import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.util.FileUtil;
+import com.itextpdf.kernel.PdfException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,6 +58,7 @@ import java.io.NotSerializableException;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -82,6 +84,23 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
      */
     PdfObjectStream objectStream = null;
 
+    /**
+     * Default strategy of packing objects into object streams, it's stateless and therefore shared.
+     */
+    private static final IObjectStreamPackingStrategy DEFAULT_OBJECT_STREAM_PACKING_STRATEGY =
+            new DefaultObjectStreamPackingStrategy();
+
+    /**
+     * Objects which were packed into object streams while flushing the current or, if no page is being
+     * flushed, the last page. Used to keep objects of a page together, see {@link IObjectStreamPackingStrategy}.
+     */
+    private int pageObjectCount;
+    private long pageContentLength;
+    /**
+     * The number of page flushes in progress, a page may be flushed from an event handler of another page flush.
+     */
+    private int pageFlushDepth;
+
     /**
      * Is used to avoid duplications on object copying.
      * It stores hashes of the indirect reference from the source document and the corresponding
@@ -92,7 +111,12 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     /**
      * Is used in smart mode to serialize and store serialized objects content.
      */
-    private SmartModePdfObjectsSerializer smartModeSerializer = new SmartModePdfObjectsSerializer();
+    private SmartModePdfObjectsSerializer smartModeSerializer;
+
+    /**
+     * Is used to compress streams in parallel if it's enabled in {@link WriterProperties}.
+     */
+    private transient ParallelStreamCompressor parallelStreamCompressor;
 
     //forewarned is forearmed
     protected boolean isUserWarnedAboutAcroFormCopying;
@@ -121,6 +145,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     public PdfWriter(java.io.OutputStream os, WriterProperties properties) {
         super(FileUtil.wrapWithBufferedOutputStream(os));
         this.properties = properties;
+        setNumberPrecision(properties.numberPrecision);
         if (properties.debugMode) {
             setDebugMode();
         }
@@ -262,6 +287,10 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         try {
             super.close();
         } finally {
+            if (parallelStreamCompressor != null) {
+                parallelStreamCompressor.shutdown();
+                parallelStreamCompressor = null;
+            }
             try {
                 if (duplicateStream != null) {
                     duplicateStream.close();
@@ -283,13 +312,46 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             return null;
         if (objectStream == null) {
             objectStream = new PdfObjectStream(document);
-        } else if (objectStream.getSize() == PdfObjectStream.MAX_OBJ_STREAM_SIZE) {
+        } else if (objectStream.getSize() > 0 && getObjectStreamPackingStrategy()
+                .isObjectStreamFull(objectStream.getSize(), objectStream.getContentLength())) {
             objectStream.flush();
             objectStream = new PdfObjectStream(objectStream);
         }
         return objectStream;
     }
 
+    /**
+     * Notifies the writer that objects of a page are going to be flushed, so that the current object
+     * stream could be closed if the packing strategy requires so.
+     */
+    void startPageFlush() {
+        if (pageFlushDepth++ > 0) {
+            return;
+        }
+        if (isFullCompression() && objectStream != null && objectStream.getSize() > 0
+                && getObjectStreamPackingStrategy().isNewObjectStreamForPageRequired(objectStream.getSize(),
+                objectStream.getContentLength(), pageObjectCount, pageContentLength)) {
+            objectStream.flush();
+            objectStream = new PdfObjectStream(objectStream);
+        }
+        pageObjectCount = 0;
+        pageContentLength = 0;
+    }
+
+    /**
+     * Notifies the writer that all the objects of a page were flushed or that the page flush has failed.
+     */
+    void finishPageFlush() {
+        if (pageFlushDepth > 0) {
+            pageFlushDepth--;
+        }
+    }
+
+    private IObjectStreamPackingStrategy getObjectStreamPackingStrategy() {
+        return properties.objectStreamPackingStrategy != null
+                ? properties.objectStreamPackingStrategy : DEFAULT_OBJECT_STREAM_PACKING_STRATEGY;
+    }
+
     protected void initCryptoIfSpecified(PdfVersion version) {
         EncryptionProperties encryptProps = properties.encryptionProperties;
         if (properties.isStandardEncryptionUsed()) {
@@ -312,7 +374,22 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         PdfIndirectReference indirectReference = pdfObject.getIndirectReference();
         if (isFullCompression() && canBeInObjStm) {
             PdfObjectStream objectStream = getObjectStream();
+            long contentLength = objectStream.getContentLength();
             objectStream.addObject(pdfObject);
+            if (pageFlushDepth > 0) {
+                pageObjectCount++;
+                pageContentLength += objectStream.getContentLength() - contentLength;
+            }
+        } else if (isParallelStreamCompression() && pdfObject.getType() == PdfObject.STREAM
+                && prepareStreamForDeferredCompression((PdfStream) pdfObject)) {
+            // the offset is set and the content is released when the compressed stream is written
+            getParallelStreamCompressor().submit((PdfStream) pdfObject);
+            indirectReference.setState(PdfObject.FLUSHED).clearState(PdfObject.MUST_BE_FLUSHED);
+            // objects which would become indirect on writing shall be flushed as usual
+            makeContentIndirectIfRequired(pdfObject);
+            markDictionaryContentToFlush((PdfDictionary) pdfObject);
+            writeCompressedStreams(false);
+            return;
         } else {
             indirectReference.setOffset(getCurrentPos());
             writeToBody(pdfObject);
@@ -371,6 +448,10 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
 
         SerializedObjectContent serializedContent = null;
         if (properties.smartMode && tryToFindDuplicate && !checkTypeOfPdfDictionary(obj, PdfName.Page)) {
+            if (smartModeSerializer == null) {
+                smartModeSerializer = new SmartModePdfObjectsSerializer(properties.smartModeDigestsOnly,
+                        properties.smartModeIndexCapacity);
+            }
             serializedContent = smartModeSerializer.serializeObject(obj);
             PdfIndirectReference objectRef = smartModeSerializer.getSavedSerializedObject(serializedContent);
             if (objectRef != null) {
@@ -412,6 +493,39 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         writeBytes(endobj);
     }
 
+    /**
+     * Writes the streams which were compressed in parallel. Streams are written in the order they were flushed.
+     *
+     * @param waitForAll if true, waits for all pending streams to be compressed and writes them,
+     *                   otherwise writes only the streams which compression is already finished
+     *                   or which can't wait anymore
+     */
+    void writeCompressedStreams(boolean waitForAll) {
+        if (parallelStreamCompressor == null) {
+            return;
+        }
+        while (parallelStreamCompressor.hasStreamToWrite(waitForAll)) {
+            ParallelStreamCompressor.PendingStream pendingStream = parallelStreamCompressor.takeStream();
+            PdfStream pdfStream = pendingStream.getPdfStream();
+            PdfIndirectReference indirectReference = pdfStream.getIndirectReference();
+            ByteArrayOutputStream compressedContent = pendingStream.getCompressedContent();
+            try {
+                indirectReference.setOffset(getCurrentPos());
+                if (crypto != null) {
+                    crypto.setHashKeyForNextObject(indirectReference.getObjNumber(), indirectReference.getGenNumber());
+                }
+                writeInteger(indirectReference.getObjNumber()).
+                        writeSpace().
+                        writeInteger(indirectReference.getGenNumber()).writeBytes(obj);
+                writeEncodedStream(pdfStream, compressedContent);
+                writeBytes(endobj);
+            } catch (IOException e) {
+                throw new PdfException(PdfException.CannotWriteToPdfStream, e, pdfStream);
+            }
+            pdfStream.releaseContent();
+        }
+    }
+
     /**
      * Writes PDF header.
      */
@@ -433,7 +547,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         while (needFlush) {
             needFlush = false;
             for (int i = 1; i < xref.size(); i++) {
-                PdfIndirectReference indirectReference = xref.get(i);
+                PdfIndirectReference indirectReference = xref.getInstantiated(i);
                 if (indirectReference != null && !indirectReference.isFree()
                         && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)
                         && !forbiddenToFlush.contains(indirectReference)) {
@@ -449,6 +563,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             objectStream.flush();
             objectStream = null;
         }
+        writeCompressedStreams(true);
     }
 
     /**
@@ -460,7 +575,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     protected void flushModifiedWaitingObjects(Set<PdfIndirectReference> forbiddenToFlush) {
         PdfXrefTable xref = document.getXref();
         for (int i = 1; i < xref.size(); i++) {
-            PdfIndirectReference indirectReference = xref.get(i);
+            PdfIndirectReference indirectReference = xref.getInstantiated(i);
             if (null != indirectReference && !indirectReference.isFree() && !forbiddenToFlush.contains(indirectReference)) {
                 boolean isModified = indirectReference.checkState(PdfObject.MODIFIED);
                 if (isModified) {
@@ -477,6 +592,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             objectStream.flush();
             objectStream = null;
         }
+        writeCompressedStreams(true);
     }
 
     /**
@@ -499,6 +615,50 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         }
     }
 
+    void clearCopiedObjectsCache(long docId) {
+        Iterator<PdfDocument.IndirectRefDescription> iterator = copiedObjects.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().docId == docId) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean isParallelStreamCompression() {
+        return properties.streamCompressionWorkers > 0;
+    }
+
+    private ParallelStreamCompressor getParallelStreamCompressor() {
+        if (parallelStreamCompressor == null) {
+            parallelStreamCompressor = new ParallelStreamCompressor(properties.streamCompressionWorkers);
+        }
+        return parallelStreamCompressor;
+    }
+
+    private void makeContentIndirectIfRequired(PdfObject pdfObject) {
+        if (pdfObject.getType() == PdfObject.ARRAY) {
+            PdfArray array = (PdfArray) pdfObject;
+            for (int i = 0; i < array.size(); i++) {
+                makeIndirectIfRequired(array.get(i, false));
+            }
+        } else if (pdfObject.getType() == PdfObject.DICTIONARY || pdfObject.getType() == PdfObject.STREAM) {
+            for (PdfObject item : ((PdfDictionary) pdfObject).values(false)) {
+                makeIndirectIfRequired(item);
+            }
+        }
+    }
+
+    private void makeIndirectIfRequired(PdfObject pdfObject) {
+        if (pdfObject == null || pdfObject.getIndirectReference() != null) {
+            return;
+        }
+        if (pdfObject.checkState(PdfObject.MUST_BE_INDIRECT)) {
+            pdfObject.makeIndirect(document);
+        } else {
+            makeContentIndirectIfRequired(pdfObject);
+        }
+    }
+
     private void markArrayContentToFlush(PdfArray array) {
         for (int i = 0; i < array.size(); i++) {
             markObjectToFlush(array.get(i, false));
@@ -73,10 +73,27 @@ public class PdfXrefTable implements Serializable {
     private static final byte[] freeXRefEntry = ByteUtils.getIsoBytes("f \n");
     private static final byte[] inUseXRefEntry = ByteUtils.getIsoBytes("n \n");
 
+    private static final byte NO_ENTRY = 0;
+    private static final byte FREE_ENTRY = 1;
+    private static final byte IN_USE_ENTRY = 2;
+    private static final byte COMPRESSED_ENTRY = 3;
+
     private PdfIndirectReference[] xref;
     private int count = 0;
     private boolean readingCompleted;
 
+    /**
+     * Entries read from the cross-reference sections of the document are stored in the following arrays
+     * and {@link PdfIndirectReference} instances are created for them only when they are requested.
+     * An object number has either an instance in {@link #xref} or an entry in these arrays, but not both.
+     * For compressed objects {@link #entryOffsets} holds the index of the object within its object stream
+     * and {@link #entryGenerations} holds the number of the object stream, since their generation is always 0.
+     */
+    private byte[] entryTypes;
+    private long[] entryOffsets;
+    private int[] entryGenerations;
+    private PdfDocument entriesDocument;
+
     /**
      * Free references linked list is stored in a form of a map, where:
      * key - free reference obj number;
@@ -84,6 +101,18 @@ public class PdfXrefTable implements Serializable {
      */
     private final TreeMap<Integer, PdfIndirectReference> freeReferencesLinkedList;
 
+    /**
+     * Reader which has cross-reference sections that are not read yet, see
+     * {@link ReaderProperties#setLazyXrefReading(boolean)}. It is null if all the sections were read.
+     */
+    private PdfReader pendingSectionsReader;
+
+    /**
+     * Document for which initialization of the free references list is postponed until all pending
+     * cross-reference sections are read.
+     */
+    private PdfDocument pendingFreeReferencesListDocument;
+
     public PdfXrefTable() {
         this(INITIAL_CAPACITY);
     }
@@ -111,6 +140,9 @@ public class PdfXrefTable implements Serializable {
         this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        if (entryTypes != null) {
+            entryTypes[objNr] = NO_ENTRY;
+        }
         return reference;
     }
 
@@ -120,6 +152,7 @@ public class PdfXrefTable implements Serializable {
      * @return amount of lines including zero-object
      */
     public int size() {
+        readPendingSections();
         return count + 1;
     }
 
@@ -129,10 +162,12 @@ public class PdfXrefTable implements Serializable {
      * @return number of indirect objects
      */
     public int getCountOfIndirectObjects() {
+        readPendingSections();
         int countOfIndirectObjects = 0;
 
-        for (final PdfIndirectReference ref: xref) {
-            if (ref != null && ! ref.isFree()) {
+        for (int i = 0; i <= count; i++) {
+            PdfIndirectReference ref = xref[i];
+            if (ref != null ? !ref.isFree() : entryTypes != null && entryTypes[i] > FREE_ENTRY) {
                 countOfIndirectObjects++;
             }
         }
@@ -147,6 +182,36 @@ public class PdfXrefTable implements Serializable {
      * @return reference to object with the provided index
      */
     public PdfIndirectReference get(int index) {
+        return get(index, true);
+    }
+
+    /**
+     * Get appropriate reference to indirect object.
+     *
+     * @param index               is the index of required object
+     * @param readPendingSections defines whether cross-reference sections which are not read yet
+     *                            shall be read if the object is not defined in the already read ones
+     * @return reference to object with the provided index
+     */
+    PdfIndirectReference get(int index, boolean readPendingSections) {
+        if (readPendingSections && pendingSectionsReader != null && !isDefined(index)) {
+            readPendingSections(index);
+        }
+        if (index > count) {
+            return null;
+        }
+        return getReference(index);
+    }
+
+    /**
+     * Get reference to indirect object only if its {@link PdfIndirectReference} instance has already been created.
+     * Entries read from the document are stored compactly until they are requested, and such entries can't
+     * be modified or flushed, so this method is enough for traversals which look only for such references.
+     *
+     * @param index is the index of required object
+     * @return already created reference to object with the provided index or null
+     */
+    PdfIndirectReference getInstantiated(int index) {
         if (index > count) {
             return null;
         }
@@ -176,25 +241,30 @@ public class PdfXrefTable implements Serializable {
      * @param pdfDocument is the current {@link PdfDocument document}
      */
     void initFreeReferencesList(PdfDocument pdfDocument) {
+        if (pendingSectionsReader != null) {
+            // free entries of the table can't be determined until all the sections are read
+            pendingFreeReferencesListDocument = pdfDocument;
+            return;
+        }
         freeReferencesLinkedList.clear();
 
         // ensure zero object is free
-        xref[0].setState(PdfObject.FREE);
+        getReference(0).setState(PdfObject.FREE);
         TreeSet<Integer> freeReferences = new TreeSet<>();
         for (int i = 1; i < size(); ++i) {
             PdfIndirectReference ref = xref[i];
-            if (ref == null || ref.isFree()) {
+            if (ref != null ? ref.isFree() : entryTypes == null || entryTypes[i] <= FREE_ENTRY) {
                 freeReferences.add(i);
             }
         }
 
-        PdfIndirectReference prevFreeRef = xref[0];
+        PdfIndirectReference prevFreeRef = getReference(0);
         while (!freeReferences.<Integer>isEmpty()) {
             int currFreeRefObjNr = -1;
             if (prevFreeRef.getOffset() <= Integer.MAX_VALUE) {
                 currFreeRefObjNr = (int) prevFreeRef.getOffset();
             }
-            if (!freeReferences.contains(currFreeRefObjNr) || xref[currFreeRefObjNr] == null) {
+            if (!freeReferences.contains(currFreeRefObjNr) || getReference(currFreeRefObjNr) == null) {
                 break;
             }
 
@@ -205,7 +275,7 @@ public class PdfXrefTable implements Serializable {
 
         while (!freeReferences.<Integer>isEmpty()) {
             int next = freeReferences.pollFirst();
-            if (xref[next] == null) {
+            if (getReference(next) == null) {
                 if (pdfDocument.properties.appendMode) {
                     continue;
                 }
@@ -233,6 +303,7 @@ public class PdfXrefTable implements Serializable {
      * @return created indirect reference to the object stream
      */
     PdfIndirectReference createNewIndirectReference(PdfDocument document) {
+        readPendingSections();
         PdfIndirectReference reference = new PdfIndirectReference(document, ++count);
         add(reference);
         return (PdfIndirectReference) reference.setState(PdfObject.MODIFIED);
@@ -245,6 +316,7 @@ public class PdfXrefTable implements Serializable {
      * @return created indirect reference.
      */
     protected PdfIndirectReference createNextIndirectReference(PdfDocument document) {
+        readPendingSections();
         PdfIndirectReference reference = new PdfIndirectReference(document, ++count);
         add(reference);
         return (PdfIndirectReference) reference.setState(PdfObject.MODIFIED);
@@ -259,6 +331,7 @@ public class PdfXrefTable implements Serializable {
         if (reference.isFree()) {
             return;
         }
+        readPendingSections();
         if (reference.checkState(PdfObject.MUST_BE_FLUSHED)) {
             Logger logger = LoggerFactory.getLogger(PdfXrefTable.class);
             logger.error(LogMessageConstant.INDIRECT_REFERENCE_USED_IN_FLUSHED_OBJECT_MADE_FREE);
@@ -304,7 +377,7 @@ public class PdfXrefTable implements Serializable {
 
         if (!document.properties.appendMode) {
             for (int i = count; i > 0; --i) {
-                PdfIndirectReference lastRef = xref[i];
+                PdfIndirectReference lastRef = getReference(i);
                 if (lastRef == null || lastRef.isFree()) {
                     removeFreeRefFromList(i);
                     --count;
@@ -440,25 +513,172 @@ public class PdfXrefTable implements Serializable {
         freeReferencesLinkedList.clear();
     }
 
+    /**
+     * Sets the reader which has cross-reference sections that shall be read on demand, i.e. when
+     * an object which isn't defined in the already read sections is requested from this table.
+     *
+     * @param reader the reader with unread cross-reference sections, or null if there are no such sections
+     */
+    void setPendingSectionsReader(PdfReader reader) {
+        this.pendingSectionsReader = reader;
+    }
+
+    /**
+     * Checks whether there are cross-reference sections which are not read yet.
+     *
+     * @return true if there are cross-reference sections to be read on demand, false otherwise
+     */
+    boolean hasPendingSections() {
+        return pendingSectionsReader != null;
+    }
+
+    /**
+     * Reads all the cross-reference sections which were not read yet.
+     */
+    void readPendingSections() {
+        if (pendingSectionsReader != null) {
+            readPendingSections(-1);
+        }
+    }
+
     /**
      * Clear the state of the cross-reference table.
      */
     void clear() {
         for (int i = 1; i <= count; i++) {
-            if (xref[i] != null && xref[i].isFree()) {
+            if (xref[i] != null ? xref[i].isFree() : entryTypes != null && entryTypes[i] == FREE_ENTRY) {
                 continue;
             }
             xref[i] = null;
+            if (entryTypes != null) {
+                entryTypes[i] = NO_ENTRY;
+            }
         }
         count = 1;
     }
 
+    /**
+     * Adds an entry read from a cross-reference section of the document. The entry is stored in a compact form,
+     * the {@link PdfIndirectReference} instance is created only when it is requested. The entry is ignored if
+     * the object is already defined by a more recent section, unless the object is referred in the document,
+     * but isn't read yet.
+     *
+     * @param document        the document which is being read
+     * @param objNr           the object number
+     * @param genNr           the generation number, ignored for compressed objects
+     * @param offset          the offset of the object in the file or, for compressed objects,
+     *                        the index of the object in its object stream
+     * @param objStreamNumber the number of the object stream which contains the object or 0 if the object isn't compressed
+     * @param free            true if the entry is free
+     * @return true if the entry was added, false if it was ignored
+     */
+    boolean addReadEntry(PdfDocument document, int objNr, int genNr, long offset, int objStreamNumber, boolean free) {
+        if (objStreamNumber > 0) {
+            genNr = 0;
+        }
+        PdfIndirectReference reference = objNr <= count ? xref[objNr] : null;
+        if (reference != null) {
+            if (reference.checkState(PdfObject.READING) && reference.getGenNumber() == genNr) {
+                reference.setOffset(offset);
+                reference.setObjStreamNumber(objStreamNumber);
+                reference.clearState(PdfObject.READING);
+                return true;
+            }
+            // references which are added by xref table itself (like 0 entry) are replaced
+            if (reference.getDocument() != null) {
+                return false;
+            }
+            xref[objNr] = null;
+        } else if (objNr <= count && entryTypes != null && entryTypes[objNr] != NO_ENTRY) {
+            return false;
+        }
+
+        if (entryTypes == null) {
+            entryTypes = new byte[xref.length];
+            entryOffsets = new long[xref.length];
+            entryGenerations = new int[xref.length];
+        }
+        entriesDocument = document;
+        this.count = Math.max(this.count, objNr);
+        ensureCount(objNr);
+        if (free) {
+            entryTypes[objNr] = FREE_ENTRY;
+        } else {
+            entryTypes[objNr] = objStreamNumber > 0 ? COMPRESSED_ENTRY : IN_USE_ENTRY;
+        }
+        entryOffsets[objNr] = offset;
+        entryGenerations[objNr] = objStreamNumber > 0 ? objStreamNumber : genNr;
+        return true;
+    }
+
+    /**
+     * Reads pending cross-reference sections until the object with the given number gets defined.
+     *
+     * @param index the object number, or -1 to read all pending sections
+     */
+    private void readPendingSections(int index) {
+        PdfReader reader = pendingSectionsReader;
+        // sections are read through this very table, so the reader is detached to prevent recursive reading
+        pendingSectionsReader = null;
+        while (reader.readNextXrefSection()) {
+            if (index >= 0 && isDefined(index)) {
+                break;
+            }
+        }
+        if (reader.hasPendingXrefSections()) {
+            pendingSectionsReader = reader;
+        } else if (pendingFreeReferencesListDocument != null) {
+            PdfDocument document = pendingFreeReferencesListDocument;
+            pendingFreeReferencesListDocument = null;
+            initFreeReferencesList(document);
+        }
+    }
+
+    private boolean isDefined(int index) {
+        if (index > count) {
+            return false;
+        }
+        if (xref[index] != null) {
+            return !xref[index].checkState(PdfObject.READING);
+        }
+        return entryTypes != null && entryTypes[index] != NO_ENTRY;
+    }
+
+    private PdfIndirectReference getReference(int index) {
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && entryTypes != null && entryTypes[index] != NO_ENTRY) {
+            reference = createReferenceFromEntry(index);
+        }
+        return reference;
+    }
+
+    private PdfIndirectReference createReferenceFromEntry(int index) {
+        PdfIndirectReference reference;
+        switch (entryTypes[index]) {
+            case FREE_ENTRY:
+                reference = new PdfIndirectReference(entriesDocument, index, entryGenerations[index], entryOffsets[index]);
+                reference.setState(PdfObject.FREE);
+                break;
+            case COMPRESSED_ENTRY:
+                reference = new PdfIndirectReference(entriesDocument, index, 0, entryOffsets[index]);
+                reference.setObjStreamNumber(entryGenerations[index]);
+                break;
+            default:
+                reference = new PdfIndirectReference(entriesDocument, index, entryGenerations[index], entryOffsets[index]);
+                break;
+        }
+        entryTypes[index] = NO_ENTRY;
+        xref[index] = reference;
+        return reference;
+    }
+
     private List<Integer> createSections(PdfDocument document, boolean dropObjectsFromObjectStream) {
         List<Integer> sections = new ArrayList<>();
         int first = 0;
         int len = 0;
         for (int i = 0; i < size(); i++) {
-            PdfIndirectReference reference = xref[i];
+            // only modified references are written in append mode, and the ones which are stored as read entries never are
+            PdfIndirectReference reference = document.properties.appendMode ? xref[i] : getReference(i);
             if (document.properties.appendMode && reference != null &&
                     (!reference.checkState(PdfObject.MODIFIED) || (dropObjectsFromObjectStream && reference.getObjStreamNumber() != 0))) {
                 reference = null;
@@ -562,7 +782,7 @@ public class PdfXrefTable implements Serializable {
         if (freeRefObjNr < 0) {
             Integer leastFreeRefObjNum = null;
             for (Map.Entry<Integer, PdfIndirectReference> entry : freeReferencesLinkedList.entrySet()) {
-                if (entry.getKey() <= 0 || xref[entry.getKey()].getGenNumber() >= MAX_GENERATION) {
+                if (entry.getKey() <= 0 || getReference(entry.getKey()).getGenNumber() >= MAX_GENERATION) {
                     continue;
                 }
                 leastFreeRefObjNum = entry.getKey();
@@ -574,7 +794,7 @@ public class PdfXrefTable implements Serializable {
             freeRefObjNr = (int)leastFreeRefObjNum;
         }
 
-        PdfIndirectReference freeRef = xref[freeRefObjNr];
+        PdfIndirectReference freeRef = getReference(freeRefObjNr);
         if (!freeRef.isFree()) {
             return null;
         }
@@ -598,5 +818,10 @@ public class PdfXrefTable implements Serializable {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(xref, 0, newXref, 0, xref.length);
         xref = newXref;
+        if (entryTypes != null) {
+            entryTypes = Arrays.copyOf(entryTypes, capacity);
+            entryOffsets = Arrays.copyOf(entryOffsets, capacity);
+            entryGenerations = Arrays.copyOf(entryGenerations, capacity);
+        }
     }
 }
@@ -66,6 +66,8 @@ public class ReaderProperties implements Serializable {
 
     protected MemoryLimitsAwareHandler memoryLimitsAwareHandler;
 
+    protected boolean lazyXrefReading;
+
     /**
      * Defines the password which will be used if the document is encrypted with standard encryption.
      * This could be either user or owner password.
@@ -137,4 +139,22 @@ public class ReaderProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Defines whether cross-reference sections of previous incremental updates shall be read on demand.
+     * If enabled, only the most recent cross-reference section is parsed on document opening, and the
+     * sections referred by /Prev entries are parsed only when an object which is not defined in the
+     * already read sections is requested. This considerably speeds up opening of documents with a
+     * long history of incremental updates when only a part of the document is accessed.
+     * <p>
+     * The setting is taken into account only for documents opened in reading mode without encryption.
+     * Documents opened for stamping or encrypted documents always read all cross-reference sections.
+     *
+     * @param lazyXrefReading true to read previous cross-reference sections on demand, false otherwise
+     * @return this {@link ReaderProperties} instance
+     */
+    public ReaderProperties setLazyXrefReading(boolean lazyXrefReading) {
+        this.lazyXrefReading = lazyXrefReading;
+        return this;
+    }
+
 }
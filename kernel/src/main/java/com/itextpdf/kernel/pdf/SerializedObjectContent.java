@@ -46,11 +46,13 @@ import java.util.Arrays;
 
 class SerializedObjectContent {
     private final byte[] serializedContent;
+    private final byte[] fingerprint;
     private final int hash;
 
-    SerializedObjectContent(byte[] serializedContent) {
+    SerializedObjectContent(byte[] serializedContent, byte[] fingerprint) {
         this.serializedContent = serializedContent;
-        this.hash = calculateHash(serializedContent);
+        this.fingerprint = fingerprint;
+        this.hash = Arrays.hashCode(serializedContent);
     }
 
     @Override
@@ -65,12 +67,13 @@ class SerializedObjectContent {
         return hash;
     }
 
-    private static int calculateHash(byte[] b) {
-        int hash = 0;
-        int len = b.length;
-        for (int k = 0; k < len; ++k) {
-            hash = hash * 31 + (b[k] & 0xff);
-        }
-        return hash;
+    /**
+     * Gets the fixed length hash of the serialized content, which represents the object
+     * in the serialized content of the objects referring to it.
+     *
+     * @return the fingerprint of the content
+     */
+    byte[] getFingerprint() {
+        return fingerprint;
     }
 }
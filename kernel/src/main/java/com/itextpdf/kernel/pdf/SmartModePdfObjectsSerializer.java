@@ -47,21 +47,38 @@ import com.itextpdf.kernel.PdfException;
 import java.io.Serializable;
 import java.security.MessageDigest;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 class SmartModePdfObjectsSerializer implements Serializable {
 
     private static final long serialVersionUID = 2502203520776244051L;
 
-    private transient MessageDigest md5;
-    private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj = new HashMap<>();
+    private transient MessageDigest digest;
+    private final boolean digestsOnly;
+    private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj;
 
     SmartModePdfObjectsSerializer() {
+        this(false, 0);
+    }
+
+    /**
+     * Creates the serializer.
+     *
+     * @param digestsOnly if true, objects are identified by the SHA-256 digest of their serialized content
+     *                    and stream contents are hashed with SHA-256 as well, otherwise MD5 is used for
+     *                    stream contents and the fingerprints of referenced objects
+     * @param maxIndexedObjects the maximum number of remembered objects, zero means no limit
+     */
+    SmartModePdfObjectsSerializer(boolean digestsOnly, int maxIndexedObjects) {
+        this.digestsOnly = digestsOnly;
         try {
-            md5 = MessageDigest.getInstance("MD5");
+            digest = MessageDigest.getInstance(digestsOnly ? "SHA-256" : "MD5");
         } catch (Exception e) {
             throw new PdfException(e);
         }
+        serializedContentToObj = maxIndexedObjects > 0
+                ? new LruIndex(maxIndexedObjects) : new HashMap<SerializedObjectContent, PdfIndirectReference>();
     }
 
     public void saveSerializedObject(SerializedObjectContent serializedContent, PdfIndirectReference objectReference) {
@@ -81,9 +98,11 @@ class SmartModePdfObjectsSerializer implements Serializable {
         }
         PdfIndirectReference indRef = obj.getIndirectReference();
         assert indRef != null;
-        Map<PdfIndirectReference, byte[]> serializedCache = indRef.getDocument().serializedObjectsCache;
+        PdfDocument document = indRef.getDocument();
+        Map<PdfIndirectReference, SerializedObjectContent> serializedCache = digestsOnly
+                ? document.digestedObjectsCache : document.serializedObjectsCache;
 
-        byte[] content = serializedCache.get(indRef);
+        SerializedObjectContent content = serializedCache.get(indRef);
         if (content == null) {
             ByteBuffer bb = new ByteBuffer();
             int level = 100;
@@ -92,12 +111,19 @@ class SmartModePdfObjectsSerializer implements Serializable {
             } catch (SelfReferenceException e) {
                 return null;
             }
-            content = bb.toByteArray();
+            content = createContent(bb);
+            serializedCache.put(indRef, content);
         }
-        return new SerializedObjectContent(content);
+        return content;
     }
 
-    private void serObject(PdfObject obj, ByteBuffer bb, int level, Map<PdfIndirectReference, byte[]> serializedCache) throws SelfReferenceException {
+    /**
+     * Serializes the object into the buffer. Each indirect object is serialized only once per document,
+     * its serialization is memoized and referring objects contain only its fingerprint, which is
+     * the digest of the serialization. Stream contents are represented by their digest as well.
+     */
+    private void serObject(PdfObject obj, ByteBuffer bb, int level,
+                           Map<PdfIndirectReference, SerializedObjectContent> serializedCache) throws SelfReferenceException {
         if (level <= 0) {
             return;
         }
@@ -110,9 +136,9 @@ class SmartModePdfObjectsSerializer implements Serializable {
 
         if (obj.isIndirectReference()) {
             reference = (PdfIndirectReference) obj;
-            byte[] cached = serializedCache.get(reference);
+            SerializedObjectContent cached = serializedCache.get(reference);
             if (cached != null) {
-                bb.append(cached);
+                bb.append("$R").append(cached.getFingerprint());
                 return;
             } else {
 
@@ -132,7 +158,8 @@ class SmartModePdfObjectsSerializer implements Serializable {
             serDic((PdfDictionary) obj, bb, level - 1, serializedCache);
             bb.append("$B");
             if (level > 0) {
-                bb.append(md5.digest(((PdfStream) obj).getBytes(false)));
+                byte[] streamBytes = ((PdfStream) obj).getBytes(false);
+                bb.append(hash(streamBytes, streamBytes.length));
             }
         } else if (obj.isDictionary()) {
             serDic((PdfDictionary) obj, bb, level - 1, serializedCache);
@@ -149,13 +176,29 @@ class SmartModePdfObjectsSerializer implements Serializable {
         }
 
         if (savedBb != null) {
-            serializedCache.put(reference, bb.toByteArray());
-            savedBb.append(bb.getInternalBuffer(), 0, bb.size());
+            SerializedObjectContent content = createContent(bb);
+            serializedCache.put(reference, content);
+            savedBb.append("$R").append(content.getFingerprint());
         }
     }
 
+    private SerializedObjectContent createContent(ByteBuffer bb) {
+        if (digestsOnly) {
+            byte[] contentDigest = hash(bb.getInternalBuffer(), bb.size());
+            return new SerializedObjectContent(contentDigest, contentDigest);
+        }
+        // the serialization is kept to compare objects byte by byte if their bucket keys are equal
+        byte[] content = bb.toByteArray();
+        return new SerializedObjectContent(content, hash(content, content.length));
+    }
+
+    private byte[] hash(byte[] data, int length) {
+        digest.update(data, 0, length);
+        return digest.digest();
+    }
+
     private void serDic(PdfDictionary dic, ByteBuffer bb, int level,
-                        Map<PdfIndirectReference, byte[]> serializedCache) throws SelfReferenceException {
+                        Map<PdfIndirectReference, SerializedObjectContent> serializedCache) throws SelfReferenceException {
         bb.append("$D");
         if (level <= 0)
             return;
@@ -171,7 +214,7 @@ class SmartModePdfObjectsSerializer implements Serializable {
     }
 
     private void serArray(PdfArray array, ByteBuffer bb, int level,
-                          Map<PdfIndirectReference, byte[]> serializedCache) throws SelfReferenceException {
+                          Map<PdfIndirectReference, SerializedObjectContent> serializedCache) throws SelfReferenceException {
         bb.append("$A");
         if (level <= 0)
             return;
@@ -190,4 +233,20 @@ class SmartModePdfObjectsSerializer implements Serializable {
 
     private static class SelfReferenceException extends Exception {
     }
+
+    private static class LruIndex extends LinkedHashMap<SerializedObjectContent, PdfIndirectReference> {
+        private static final long serialVersionUID = -4373012946250163264L;
+
+        private final int capacity;
+
+        LruIndex(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SerializedObjectContent, PdfIndirectReference> eldest) {
+            return size() > capacity;
+        }
+    }
 }
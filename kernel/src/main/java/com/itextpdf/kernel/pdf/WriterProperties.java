@@ -57,11 +57,37 @@ public class WriterProperties implements Serializable {
      */
     protected Boolean isFullCompression;
 
+    /**
+     * Defines how objects are packed into object streams in full compression mode.
+     * If not set, {@link DefaultObjectStreamPackingStrategy} with default bounds is used.
+     */
+    protected IObjectStreamPackingStrategy objectStreamPackingStrategy;
+
     /**
      * Indicates if the writer copy objects in a smart mode. If so PdfDictionary and PdfStream will be hashed
      * and reused if there's an object with the same content later.
      */
     protected boolean smartMode;
+    /**
+     * Indicates if smart mode identifies objects by a SHA-256 digest of their serialized content
+     * instead of retaining the serialized content itself.
+     */
+    protected boolean smartModeDigestsOnly;
+    /**
+     * The maximum number of objects remembered by smart mode. When the limit is reached,
+     * the least recently reused object is forgotten. Zero means that the number is not limited.
+     */
+    protected int smartModeIndexCapacity;
+    /**
+     * The number of worker threads which compress stream contents in parallel with writing.
+     * Zero means that streams are compressed on the writing thread.
+     */
+    protected int streamCompressionWorkers;
+    /**
+     * The number of fraction digits of the floating point numbers written to content streams and objects.
+     * -1 means that the global precision setting of {@link com.itextpdf.io.source.OutputStream} is used.
+     */
+    protected int numberPrecision;
     protected boolean debugMode;
     protected boolean addXmpMetadata;
     protected boolean addUAXmpMetadata;
@@ -83,6 +109,7 @@ public class WriterProperties implements Serializable {
         addUAXmpMetadata = false;
         compressionLevel = CompressionConstants.DEFAULT_COMPRESSION;
         isFullCompression = null;
+        numberPrecision = -1;
         encryptionProperties = new EncryptionProperties();
     }
 
@@ -113,6 +140,81 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Enables smart mode in which objects are identified by a SHA-256 digest of their content.
+     * <br>
+     * Regular smart mode keeps the serialized content of every copied resource in memory
+     * for the life of the writer. In this mode only a fixed size digest is kept per object,
+     * which allows to merge large numbers of documents in smart mode. Objects are considered
+     * equal if their digests are equal.
+     *
+     * @return this {@link WriterProperties} instance
+     * @see #useSmartMode()
+     */
+    public WriterProperties useDigestSmartMode() {
+        this.smartMode = true;
+        this.smartModeDigestsOnly = true;
+        return this;
+    }
+
+    /**
+     * Limits the number of objects remembered by smart mode for reuse.
+     * <br>
+     * When the limit is reached, the object which was least recently reused is forgotten,
+     * so the objects which are copied again after that are written once more. Combined with
+     * {@link #useDigestSmartMode()} this puts a fixed ceiling on the memory used by smart mode.
+     * Zero, which is the default value, means that the number of objects is not limited.
+     *
+     * @param maxIndexedObjects the maximum number of remembered objects, zero for no limit.
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setSmartModeIndexCapacity(int maxIndexedObjects) {
+        if (maxIndexedObjects < 0) {
+            throw new IllegalArgumentException("The smart mode index capacity can not be negative.");
+        }
+        this.smartModeIndexCapacity = maxIndexedObjects;
+        return this;
+    }
+
+    /**
+     * Enables parallel compression of stream contents.
+     * <br>
+     * When a stream is flushed, its content is deflated by one of the worker threads of the writer
+     * while the document continues to be processed and written. Compressed streams are written
+     * in the order they were flushed as soon as compression is finished, so the resultant file
+     * differs from the one created in sequential mode only in the order of the objects.
+     * Only streams which content is already buffered in memory are compressed in parallel.
+     * <br>
+     * Worker threads are owned by the {@link PdfWriter} and are stopped when the writer is closed.
+     *
+     * @param workerCount the number of worker threads, zero or negative value disables parallel compression
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties useParallelStreamCompression(int workerCount) {
+        this.streamCompressionWorkers = Math.max(0, workerCount);
+        return this;
+    }
+
+    /**
+     * Sets the precision of the floating point numbers written by the document, such as coordinates
+     * in content streams created with {@link com.itextpdf.kernel.pdf.canvas.PdfCanvas}.
+     * <br>
+     * Numbers are rounded to the specified number of fraction digits and written without trailing zeros,
+     * e.g. with the precision of 3 the value 12.34567 is written as 12.346.
+     * By default the global setting of {@link com.itextpdf.io.source.OutputStream#setHighPrecision(boolean)}
+     * is used, i.e. 6 fraction digits in high precision mode or up to 5 significant fraction digits otherwise.
+     *
+     * @param fractionDigits the number of fraction digits, from 0 to 10, or -1 to use the global setting
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setNumberPrecision(int fractionDigits) {
+        if (fractionDigits < -1 || fractionDigits > 10) {
+            throw new IllegalArgumentException("The number precision shall be between 0 and 10, or -1.");
+        }
+        this.numberPrecision = fractionDigits;
+        return this;
+    }
+
     /**
      * If true, default XMPMetadata based on {@link PdfDocumentInfo} will be added.
      * For PDF 2.0 documents, metadata will be added in any case.
@@ -148,6 +250,21 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Defines how objects are packed into object streams if full compression mode is enabled.
+     * By default an object stream is closed after 200 objects regardless of their size and location.
+     * Use {@link DefaultObjectStreamPackingStrategy} to bound object streams by the number of objects
+     * and the length of their data, and {@link PageAlignedObjectStreamPackingStrategy} to additionally
+     * keep objects of the same page in the same object stream.
+     *
+     * @param objectStreamPackingStrategy the strategy of packing objects into object streams
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setObjectStreamPackingStrategy(IObjectStreamPackingStrategy objectStreamPackingStrategy) {
+        this.objectStreamPackingStrategy = objectStreamPackingStrategy;
+        return this;
+    }
+
     /**
      * Sets the encryption options for the document.
      *
@@ -72,6 +72,7 @@ import com.itextpdf.kernel.pdf.PdfResources;
 import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
 import com.itextpdf.kernel.pdf.PdfVersion;
+import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.pdf.canvas.wmf.WmfImageHelper;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
 import com.itextpdf.kernel.pdf.colorspace.PdfDeviceCs;
@@ -218,6 +219,7 @@ public class PdfCanvas implements Serializable {
         this.contentStream = ensureStreamDataIsReadyToBeProcessed(contentStream);
         this.resources = resources;
         this.document = document;
+        applyNumberPrecision();
     }
 
     /**
@@ -976,6 +978,68 @@ public class PdfCanvas implements Serializable {
         return this;
     }
 
+    /**
+     * Appends an open polyline as a new subpath: moves to the first point and appends
+     * straight line segments to the rest of the points.
+     *
+     * @param coordinates x and y coordinates of the points, one after another.
+     * @return current canvas.
+     */
+    public PdfCanvas polyline(double[] coordinates) {
+        if (coordinates.length % 2 != 0) {
+            throw new IllegalArgumentException("The number of coordinates shall be even.");
+        }
+        return polyline(coordinates, 0, coordinates.length / 2);
+    }
+
+    /**
+     * Appends an open polyline as a new subpath: moves to the first point and appends
+     * straight line segments to the rest of the points. All the operators are written to
+     * the content stream in bulk, which is much faster than separate {@link #moveTo(double, double)}
+     * and {@link #lineTo(double, double)} calls for the paths with many points.
+     *
+     * @param coordinates x and y coordinates of the points, one after another.
+     * @param offset      the index of the x coordinate of the first point in the array.
+     * @param pointsCount the number of points.
+     * @return current canvas.
+     */
+    public PdfCanvas polyline(double[] coordinates, int offset, int pointsCount) {
+        if (pointsCount > 0) {
+            contentStream.getOutputStream().writeDoubleGroups(coordinates, offset, 1, 2, m);
+            linesTo(coordinates, offset + 2, pointsCount - 1);
+        }
+        return this;
+    }
+
+    /**
+     * Appends straight line segments from the current point through the specified points.
+     * The new current point is the last of the points.
+     *
+     * @param coordinates x and y coordinates of the points, one after another.
+     * @param offset      the index of the x coordinate of the first point in the array.
+     * @param pointsCount the number of points.
+     * @return current canvas.
+     */
+    public PdfCanvas linesTo(double[] coordinates, int offset, int pointsCount) {
+        contentStream.getOutputStream().writeDoubleGroups(coordinates, offset, pointsCount, 2, l);
+        return this;
+    }
+
+    /**
+     * Appends a sequence of B&#xea;zier curves to the path, starting from the current point.
+     * Every curve is defined by six coordinates: x1, y1, x2, y2, x3, y3, where (x1, y1) and (x2, y2)
+     * are the control points and (x3, y3) is the ending point, which is the starting point of the next curve.
+     *
+     * @param coordinates the coordinates of the curves, one after another.
+     * @param offset      the index of the first coordinate of the first curve in the array.
+     * @param curvesCount the number of curves.
+     * @return current canvas.
+     */
+    public PdfCanvas curvesTo(double[] coordinates, int offset, int curvesCount) {
+        contentStream.getOutputStream().writeDoubleGroups(coordinates, offset, curvesCount, 6, c);
+        return this;
+    }
+
     /**
      * Appends a Bezier curve to the path, starting from the current point.
      *
@@ -2715,6 +2779,14 @@ public class PdfCanvas implements Serializable {
         return addImageWithTransformationMatrix(image, rect.getWidth(), 0, 0, rect.getHeight(), rect.getX(), rect.getY());
     }
 
+    private void applyNumberPrecision() {
+        PdfWriter writer = document != null ? document.getWriter() : null;
+        PdfOutputStream outputStream = contentStream.getOutputStream();
+        if (writer != null && outputStream != null && writer.getNumberPrecision() >= 0) {
+            outputStream.setNumberPrecision(writer.getNumberPrecision());
+        }
+    }
+
     private PdfStream ensureStreamDataIsReadyToBeProcessed(PdfStream stream) {
         if (!stream.isFlushed()) {
             if (stream.getOutputStream() == null || stream.containsKey(PdfName.Filter)) {
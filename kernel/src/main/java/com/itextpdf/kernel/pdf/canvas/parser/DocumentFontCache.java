@@ -0,0 +1,136 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A cache of the fonts of a {@link PdfDocument} which are decoded by {@link PdfCanvasProcessor}.
+ * <p>
+ * Without the cache every processor creates its own {@link PdfFont} instances, so a document processed
+ * page by page with a new processor for every page has its fonts, their widths and their ToUnicode CMaps
+ * parsed again for every page. The fonts are created from the document once and kept in the cache
+ * until it is {@link #clear() cleared} or garbage collected. Only indirect font dictionaries of the document
+ * the cache is created for are cached. The cache expects that the cached font dictionaries are not modified
+ * while the cache is in use.
+ * <p>
+ * The cache is thread-safe, so it may be shared by processors running in different threads.
+ * Note however that the document itself must not be read concurrently.
+ */
+public class DocumentFontCache {
+
+    private final PdfDocument document;
+    private final Map<PdfIndirectReference, PdfFont> fonts = new HashMap<>();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param document the document which fonts shall be cached
+     */
+    public DocumentFontCache(PdfDocument document) {
+        if (document == null) {
+            throw new IllegalArgumentException("The document of the font cache shall not be null.");
+        }
+        this.document = document;
+    }
+
+    /**
+     * Gets the document which fonts are cached.
+     *
+     * @return the document of the cache
+     */
+    public PdfDocument getDocument() {
+        return document;
+    }
+
+    /**
+     * Gets a font by its dictionary, creating and caching it if the font is requested for the first time.
+     * Direct font dictionaries and font dictionaries of other documents aren't cached, a new font is created
+     * for them every time.
+     *
+     * @param fontDict the {@link PdfDictionary font dictionary} to create the font from
+     * @return the font
+     */
+    public PdfFont getFont(PdfDictionary fontDict) {
+        PdfIndirectReference reference = fontDict.getIndirectReference();
+        if (reference == null || reference.getDocument() != document) {
+            return PdfFontFactory.createFont(fontDict);
+        }
+        synchronized (fonts) {
+            PdfFont font = fonts.get(reference);
+            if (font == null) {
+                font = PdfFontFactory.createFont(fontDict);
+                fonts.put(reference, font);
+            }
+            return font;
+        }
+    }
+
+    /**
+     * Gets the number of the cached fonts.
+     *
+     * @return the number of the cached fonts
+     */
+    public int size() {
+        synchronized (fonts) {
+            return fonts.size();
+        }
+    }
+
+    /**
+     * Removes all the fonts from the cache.
+     */
+    public void clear() {
+        synchronized (fonts) {
+            fonts.clear();
+        }
+    }
+}
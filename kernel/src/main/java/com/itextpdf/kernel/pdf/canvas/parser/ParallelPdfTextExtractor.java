@@ -0,0 +1,176 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.DocumentProperties;
+import com.itextpdf.kernel.pdf.MemoryLimitsAwareHandler;
+import com.itextpdf.kernel.pdf.ParallelDocumentProcessor;
+import com.itextpdf.kernel.pdf.ParallelDocumentProcessor.IWorker;
+import com.itextpdf.kernel.pdf.ParallelDocumentProcessor.IWorkerFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Extracts text from the pages of a document using several worker tasks.
+ * <p>
+ * A {@link PdfDocument} instance can't be shared between threads, so every worker task opens the document
+ * with its own {@link PdfReader}. All the readers share one source of bytes, which therefore shall support
+ * concurrent reads, e.g. the source created with
+ * {@code new RandomAccessSourceFactory().setUseConcurrentAccess(true).createBestSource(filename)}.
+ * The source is not closed by the extractor.
+ * <p>
+ * Worker tasks are run by the {@link ExecutorService} supplied by the caller, and pages are distributed
+ * between them dynamically. Every page is processed with a new {@link ITextExtractionStrategy}
+ * created by {@link IStrategyFactory}, which is called from the worker threads. Every worker keeps its own
+ * {@link ParsedContentStreamCache} and {@link DocumentFontCache}, so form XObjects and fonts repeated on many pages
+ * are parsed once per worker. If a page can't be processed, the extraction methods wait until the other
+ * workers have finished the pages they are processing before rethrowing the failure, so no strategy is used
+ * and no reader of the source is open after the methods return.
+ */
+public class ParallelPdfTextExtractor {
+
+    private final ParallelDocumentProcessor processor;
+    private final ExecutorService executor;
+    private final int workersCount;
+
+    /**
+     * Creates a new instance of ParallelPdfTextExtractor class.
+     *
+     * @param source the source of the document, shall support concurrent reads
+     * @param readerProperties properties of the readers which read the source document. Every reader uses
+     *                         its own {@link MemoryLimitsAwareHandler} with the limits of the given one
+     * @param executor the executor which runs worker tasks. It is not shut down by the extractor
+     * @param workersCount the number of worker tasks, each of them opens its own view of the document
+     */
+    public ParallelPdfTextExtractor(IRandomAccessSource source, ReaderProperties readerProperties,
+            ExecutorService executor, int workersCount) {
+        if (workersCount <= 0) {
+            throw new IllegalArgumentException("The number of workers shall be positive.");
+        }
+        this.processor = new ParallelDocumentProcessor(source, readerProperties);
+        this.executor = executor;
+        this.workersCount = workersCount;
+    }
+
+    /**
+     * Extracts text from all the pages of the document.
+     *
+     * @param strategyFactory the factory of extraction strategies, shall be thread-safe
+     * @return the list of extracted texts in page order
+     */
+    public List<String> getTextFromPages(IStrategyFactory strategyFactory) {
+        return getTextFromPages(1, getNumberOfPages(), strategyFactory);
+    }
+
+    /**
+     * Extracts text from the specified pages of the document.
+     *
+     * @param startPage the number of the first page to extract text from
+     * @param endPage the number of the last page to extract text from, inclusive
+     * @param strategyFactory the factory of extraction strategies, shall be thread-safe
+     * @return the list of extracted texts in page order, the first element corresponds to the start page
+     */
+    public List<String> getTextFromPages(final int startPage, int endPage, final IStrategyFactory strategyFactory) {
+        if (startPage > endPage) {
+            return Collections.<String>emptyList();
+        }
+        final String[] texts = new String[endPage - startPage + 1];
+        processor.process(executor, workersCount, texts.length, new DocumentProperties(), new IWorkerFactory() {
+            @Override
+            public IWorker createWorker(final PdfDocument document) {
+                final ParsedContentStreamCache parsedContentStreamCache = new ParsedContentStreamCache();
+                final DocumentFontCache documentFontCache = new DocumentFontCache(document);
+                return new IWorker() {
+                    @Override
+                    public void process(int item) {
+                        ITextExtractionStrategy strategy = strategyFactory.createStrategy(startPage + item);
+                        PdfCanvasProcessor canvasProcessor = new PdfCanvasProcessor(strategy);
+                        canvasProcessor.setParsedContentStreamCache(parsedContentStreamCache);
+                        canvasProcessor.setDocumentFontCache(documentFontCache);
+                        canvasProcessor.processPageContent(document.getPage(startPage + item));
+                        texts[item] = strategy.getResultantText();
+                    }
+                };
+            }
+        });
+        return Arrays.asList(texts);
+    }
+
+    /**
+     * Gets the number of pages of the document.
+     *
+     * @return the number of pages
+     */
+    public int getNumberOfPages() {
+        try (PdfDocument document = processor.openDocument(new DocumentProperties())) {
+            return document.getNumberOfPages();
+        } catch (IOException e) {
+            throw new PdfException(PdfException.IoException, e);
+        }
+    }
+
+    /**
+     * The factory which creates a new {@link ITextExtractionStrategy} for every processed page.
+     */
+    public interface IStrategyFactory {
+
+        /**
+         * Creates an extraction strategy for the page. The method is called from worker threads concurrently.
+         *
+         * @param pageNumber the number of the page which is going to be processed
+         * @return a new extraction strategy
+         */
+        ITextExtractionStrategy createStrategy(int pageNumber);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfObject;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A size-bounded cache of parsed content streams which allows {@link PdfCanvasProcessor} to tokenize
+ * the content of a form XObject only once, even if the XObject is drawn on many pages.
+ * <p>
+ * Parsed streams are keyed by their indirect references. The least recently used streams are evicted as soon as
+ * the total length of the cached content exceeds the limit. The cache expects that the cached XObjects
+ * are not modified while the cache is in use. The same instance may be shared by several processors
+ * working with the same document, e.g. the processors which handle the pages of the document one by one.
+ * The cache is not thread-safe.
+ */
+public class ParsedContentStreamCache {
+
+    /**
+     * The default limit of the total length of the cached content streams, in bytes.
+     */
+    public static final long DEFAULT_MAX_CACHED_BYTES = 4L * 1024 * 1024;
+
+    private final long maxCachedBytes;
+    private final Map<PdfIndirectReference, ParsedContentStream> parsedStreams = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    /**
+     * Creates a new cache with the {@link #DEFAULT_MAX_CACHED_BYTES default} size limit.
+     */
+    public ParsedContentStreamCache() {
+        this(DEFAULT_MAX_CACHED_BYTES);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxCachedBytes the limit of the total length of the cached content streams, in bytes
+     */
+    public ParsedContentStreamCache(long maxCachedBytes) {
+        if (maxCachedBytes < 0) {
+            throw new IllegalArgumentException("The size limit of the cache shall not be negative.");
+        }
+        this.maxCachedBytes = maxCachedBytes;
+    }
+
+    /**
+     * Gets the number of the cached content streams.
+     *
+     * @return the number of the cached content streams
+     */
+    public int size() {
+        return parsedStreams.size();
+    }
+
+    /**
+     * Gets the total length of the cached content streams, in bytes.
+     *
+     * @return the total length of the cached content streams
+     */
+    public long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * Removes all the content streams from the cache.
+     */
+    public void clear() {
+        parsedStreams.clear();
+        cachedBytes = 0;
+    }
+
+    List<PdfObject[]> get(PdfIndirectReference reference) {
+        ParsedContentStream parsedStream = parsedStreams.get(reference);
+        // PdfIndirectReference#equals doesn't take the document into account
+        if (parsedStream == null || parsedStream.reference != reference) {
+            return null;
+        }
+        return parsedStream.commands;
+    }
+
+    void put(PdfIndirectReference reference, List<PdfObject[]> commands, int contentLength) {
+        if (contentLength > maxCachedBytes) {
+            return;
+        }
+        ParsedContentStream previous = parsedStreams.put(reference,
+                new ParsedContentStream(reference, commands, contentLength));
+        if (previous != null) {
+            cachedBytes -= previous.contentLength;
+        }
+        cachedBytes += contentLength;
+        Iterator<ParsedContentStream> iterator = parsedStreams.values().iterator();
+        while (cachedBytes > maxCachedBytes && iterator.hasNext()) {
+            cachedBytes -= iterator.next().contentLength;
+            iterator.remove();
+        }
+    }
+
+    private static final class ParsedContentStream {
+        final PdfIndirectReference reference;
+        final List<PdfObject[]> commands;
+        final int contentLength;
+
+        ParsedContentStream(PdfIndirectReference reference, List<PdfObject[]> commands, int contentLength) {
+            this.reference = reference;
+            this.commands = commands;
+            this.contentLength = contentLength;
+        }
+    }
+}
@@ -139,6 +139,12 @@ public class PdfCanvasProcessor {
      */
     private Map<String, IContentOperator> operators;
 
+    /**
+     * The same operators as in {@link #operators}, keyed by their literals. Used for dispatching
+     * parsed operators without converting them to strings.
+     */
+    private Map<PdfLiteral, IContentOperator> operatorsByLiteral;
+
     /**
      * Resources for the content stream.
      * Current resources are always at the top of the stack.
@@ -165,11 +171,21 @@ public class PdfCanvasProcessor {
      */
     private Map<Integer, WeakReference<PdfFont>> cachedFonts = new HashMap<>();
 
+    /**
+     * The document-scoped font cache, or null if fonts are cached by the processor only.
+     */
+    private DocumentFontCache documentFontCache;
+
     /**
      * A stack containing marked content info.
      */
     private Stack<CanvasTag> markedContentStack = new Stack<>();
 
+    /**
+     * The cache of parsed form XObjects, or null if form XObjects are parsed every time they are drawn.
+     */
+    private ParsedContentStreamCache parsedContentStreamCache;
+
     /**
      * Creates a new PDF Content Stream Processor that will send its output to the
      * designated render listener.
@@ -180,6 +196,7 @@ public class PdfCanvasProcessor {
         this.eventListener = eventListener;
         this.supportedEvents = eventListener.getSupportedEvents();
         operators = new HashMap<>();
+        operatorsByLiteral = new HashMap<>();
         populateOperators();
         xobjectDoHandlers = new HashMap<>();
         populateXObjectDoHandlers();
@@ -227,9 +244,56 @@ public class PdfCanvasProcessor {
      * @return the existing registered operator, if any
      */
     public IContentOperator registerContentOperator(String operatorString, IContentOperator operator) {
+        operatorsByLiteral.put(new PdfLiteral(operatorString), operator);
         return operators.put(operatorString, operator);
     }
 
+    /**
+     * Sets the cache of parsed content streams. If the cache is set, the content of a form XObject is tokenized
+     * only once, when the XObject is drawn for the first time, and the parsed operators are taken from the cache
+     * on subsequent drawings. The same cache may be set to several processors which process the same document.
+     * The cache isn't used by default.
+     * <p>
+     * The operators of a cached form XObject are invoked directly, so {@link #processContent(byte[], PdfResources)}
+     * is not called for it. Subclasses which override that method shall not use the cache.
+     *
+     * @param parsedContentStreamCache the cache of parsed content streams, or null if no cache should be used
+     */
+    public void setParsedContentStreamCache(ParsedContentStreamCache parsedContentStreamCache) {
+        this.parsedContentStreamCache = parsedContentStreamCache;
+    }
+
+    /**
+     * Gets the cache of parsed content streams.
+     *
+     * @return the cache of parsed content streams, or null if no cache is used
+     * @see #setParsedContentStreamCache(ParsedContentStreamCache)
+     */
+    public ParsedContentStreamCache getParsedContentStreamCache() {
+        return parsedContentStreamCache;
+    }
+
+    /**
+     * Sets the document-scoped font cache. If the cache is set, the fonts of its document are taken from the cache,
+     * so that they are decoded only once for all the processors which share the cache. Otherwise every processor
+     * creates its own fonts. The cache isn't used by default.
+     *
+     * @param documentFontCache the document-scoped font cache, or null if no such cache should be used
+     */
+    public void setDocumentFontCache(DocumentFontCache documentFontCache) {
+        this.documentFontCache = documentFontCache;
+    }
+
+    /**
+     * Gets the document-scoped font cache.
+     *
+     * @return the document-scoped font cache, or null if no such cache is used
+     * @see #setDocumentFontCache(DocumentFontCache)
+     */
+    public DocumentFontCache getDocumentFontCache() {
+        return documentFontCache;
+    }
+
     /**
      * Gets the {@link java.util.Collection} containing all the registered operators strings.
      *
@@ -275,6 +339,7 @@ public class PdfCanvasProcessor {
         this.resourcesStack.push(resources);
         PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
         PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
+        ps.setInternOperators(true);
         List<PdfObject> operands = new ArrayList<>();
         try {
             while (ps.parse(operands).size() > 0) {
@@ -447,7 +512,7 @@ public class PdfCanvasProcessor {
      * @param operands a list with operands
      */
     protected void invokeOperator(PdfLiteral operator, List<PdfObject> operands) {
-        IContentOperator op = operators.get(operator.toString());
+        IContentOperator op = operatorsByLiteral.get(operator);
         if (op == null) {
             op = operators.get(DEFAULT_OPERATOR);
         }
@@ -475,12 +540,15 @@ public class PdfCanvasProcessor {
 
     /**
      * Creates a {@link PdfFont} object by a font dictionary. The font may have been cached in case
-     * it is an indirect object.
+     * it is an indirect object, either by the processor or by the {@link #setDocumentFontCache document font cache}.
      *
      * @param fontDict the {@link PdfDictionary font dictionary} to create the font from
      * @return the created font
      */
     protected PdfFont getFont(PdfDictionary fontDict) {
+        if (documentFontCache != null) {
+            return documentFontCache.getFont(fontDict);
+        }
         if (fontDict.getIndirectReference() == null) {
             return PdfFontFactory.createFont(fontDict);
         } else {
@@ -569,6 +637,48 @@ public class PdfCanvasProcessor {
         handler.handleXObject(this, this.markedContentStack, xobjectStream, resourceName);
     }
 
+    /**
+     * Parses the content stream into the list of commands. Every command holds the operands
+     * followed by the operator.
+     *
+     * @param contentBytes the bytes of the content stream
+     * @param resources the resources of the content stream
+     * @return the list of parsed commands
+     */
+    private List<PdfObject[]> parseContent(byte[] contentBytes, PdfResources resources) {
+        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
+        PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
+        ps.setInternOperators(true);
+        List<PdfObject[]> commands = new ArrayList<>();
+        List<PdfObject> operands = new ArrayList<>();
+        try {
+            while (ps.parse(operands).size() > 0) {
+                commands.add(operands.toArray(new PdfObject[operands.size()]));
+            }
+        } catch (IOException e) {
+            throw new PdfException(PdfException.CannotParseContentStream, e);
+        }
+        return commands;
+    }
+
+    /**
+     * Processes the commands of a content stream parsed by {@link #parseContent(byte[], PdfResources)}.
+     *
+     * @param commands the parsed commands
+     * @param resources the resources of the content stream
+     */
+    private void processParsedContent(List<PdfObject[]> commands, PdfResources resources) {
+        this.resourcesStack.push(resources);
+        List<PdfObject> operands = new ArrayList<>();
+        for (PdfObject[] command : commands) {
+            // operators get a fresh list every time as they are allowed to modify it
+            operands.clear();
+            Collections.addAll(operands, command);
+            invokeOperator((PdfLiteral) command[command.length - 1], operands);
+        }
+        this.resourcesStack.pop();
+    }
+
     private void displayImage(Stack<CanvasTag> canvasTagHierarchy, PdfStream imageStream, PdfName resourceName, boolean isInline) {
         PdfDictionary colorSpaceDic = getResources().getResource(PdfName.ColorSpace);
         ImageRenderInfo renderInfo = new ImageRenderInfo(canvasTagHierarchy, getGraphicsState(), getGraphicsState().getCtm(),
@@ -1418,8 +1528,21 @@ public class PdfCanvasProcessor {
             // we read the content bytes up here so if it fails we don't leave the graphics state stack corrupted
             // this is probably not necessary (if we fail on this, probably the entire content stream processing
             // operation should be rejected
-            byte[] contentBytes;
-            contentBytes = xObjectStream.getBytes();
+            byte[] contentBytes = null;
+            List<PdfObject[]> parsedContent = null;
+            ParsedContentStreamCache cache = processor.parsedContentStreamCache;
+            PdfIndirectReference reference = xObjectStream.getIndirectReference();
+            // without own resources, inline images of the form are parsed with the resources of the caller
+            if (cache != null && reference != null && resourcesDic != null) {
+                parsedContent = cache.get(reference);
+                if (parsedContent == null) {
+                    contentBytes = xObjectStream.getBytes();
+                    parsedContent = processor.parseContent(contentBytes, resources);
+                    cache.put(reference, parsedContent, contentBytes.length);
+                }
+            } else {
+                contentBytes = xObjectStream.getBytes();
+            }
             final PdfArray matrix = xObjectStream.getAsArray(PdfName.Matrix);
 
             new PushGraphicsStateOperator().invoke(processor, null, null);
@@ -1435,7 +1558,11 @@ public class PdfCanvasProcessor {
                 processor.getGraphicsState().updateCtm(formMatrix);
             }
 
-            processor.processContent(contentBytes, resources);
+            if (parsedContent != null) {
+                processor.processParsedContent(parsedContent, resources);
+            } else {
+                processor.processContent(contentBytes, resources);
+            }
 
             new PopGraphicsStateOperator().invoke(processor, null, null);
         }
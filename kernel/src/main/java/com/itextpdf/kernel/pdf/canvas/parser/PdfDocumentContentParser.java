@@ -57,14 +57,43 @@ public class PdfDocumentContentParser {
 
     private final PdfDocument pdfDocument;
 
+    private ParsedContentStreamCache parsedContentStreamCache;
+
+    private DocumentFontCache documentFontCache;
+
     public PdfDocumentContentParser(PdfDocument pdfDocument) {
         this.pdfDocument = pdfDocument;
     }
 
+    /**
+     * Sets the cache of parsed content streams which is shared by the processors of all the pages.
+     * The cache isn't used by default.
+     *
+     * @param parsedContentStreamCache the cache of parsed content streams, or null if no cache should be used
+     * @see PdfCanvasProcessor#setParsedContentStreamCache(ParsedContentStreamCache)
+     */
+    public void setParsedContentStreamCache(ParsedContentStreamCache parsedContentStreamCache) {
+        this.parsedContentStreamCache = parsedContentStreamCache;
+    }
+
+    /**
+     * Sets the document-scoped font cache which is shared by the processors of all the pages.
+     * The cache isn't used by default.
+     *
+     * @param documentFontCache the document-scoped font cache, or null if no such cache should be used
+     * @see PdfCanvasProcessor#setDocumentFontCache(DocumentFontCache)
+     */
+    public void setDocumentFontCache(DocumentFontCache documentFontCache) {
+        this.documentFontCache = documentFontCache;
+    }
+
     /**
      * Processes content from the specified page number using the specified listener.
      * Also allows registration of custom IContentOperators that can influence
      * how (and whether or not) the PDF instructions will be parsed.
+     * Fonts and form XObjects are parsed once and are reused on the following pages if
+     * {@link #setDocumentFontCache(DocumentFontCache) the font cache} and
+     * {@link #setParsedContentStreamCache(ParsedContentStreamCache) the parsed content stream cache} are set.
      *
      * @param <E>                        the type of the renderListener - this makes it easy to chain calls
      * @param pageNumber                 the page number to process
@@ -74,6 +103,8 @@ public class PdfDocumentContentParser {
      */
     public <E extends IEventListener> E processContent(int pageNumber, E renderListener, Map<String, IContentOperator> additionalContentOperators) {
         PdfCanvasProcessor processor = new PdfCanvasProcessor(renderListener, additionalContentOperators);
+        processor.setParsedContentStreamCache(parsedContentStreamCache);
+        processor.setDocumentFontCache(documentFontCache);
         processor.processPageContent(pdfDocument.getPage(pageNumber));
         return renderListener;
     }
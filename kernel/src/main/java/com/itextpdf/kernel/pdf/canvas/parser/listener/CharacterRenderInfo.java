@@ -48,9 +48,8 @@ import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This class represents a single character and its bounding box
@@ -68,42 +67,45 @@ public class CharacterRenderInfo extends TextChunk {
      * the indices to differ by at least 1.
      */
     static StringConversionInfo mapString(List<CharacterRenderInfo> cris) {
-        Map<Integer, Integer> indexMap = new HashMap<>();
+        StringConversionInfo ret = new StringConversionInfo();
         StringBuilder sb = new StringBuilder();
         CharacterRenderInfo lastChunk = null;
         for (int i = 0; i < cris.size(); i++) {
             CharacterRenderInfo chunk = cris.get(i);
             if (lastChunk == null) {
-                putCharsWithIndex(chunk.getText(), i, indexMap, sb);
+                putCharsWithIndex(chunk.getText(), i, ret, sb);
             } else {
                 if (chunk.sameLine(lastChunk)) {
                     // we only insert a blank space if the trailing character of the previous string wasn't a space, and the leading character of the current string isn't a space
                     if (chunk.getLocation().isAtWordBoundary(lastChunk.getLocation()) && !chunk.getText().startsWith(" ") && !chunk.getText().endsWith(" ")) {
-                        sb.append(' ');
+                        appendSeparator(' ', ret, sb);
                     }
-                    putCharsWithIndex(chunk.getText(), i, indexMap, sb);
+                    putCharsWithIndex(chunk.getText(), i, ret, sb);
                 } else {
                     // we insert a newline character in the resulting string if the chunks are placed on different lines
-                    sb.append('\n');
-                    putCharsWithIndex(chunk.getText(), i, indexMap, sb);
+                    appendSeparator('\n', ret, sb);
+                    putCharsWithIndex(chunk.getText(), i, ret, sb);
                 }
             }
             lastChunk = chunk;
         }
-        CharacterRenderInfo.StringConversionInfo ret = new StringConversionInfo();
-        ret.indexMap = indexMap;
         ret.text = sb.toString();
         return ret;
     }
 
-    private static void putCharsWithIndex(final CharSequence seq, int index, final Map<Integer, Integer> indexMap, StringBuilder sb) {
+    private static void putCharsWithIndex(final CharSequence seq, int index, final StringConversionInfo info, StringBuilder sb) {
         int charCount = seq.length();
         for (int i = 0; i < charCount; i++) {
-            indexMap.put(sb.length(), index);
+            info.putIndex(sb.length(), index);
             sb.append(seq.charAt(i));
         }
     }
 
+    private static void appendSeparator(char separator, final StringConversionInfo info, StringBuilder sb) {
+        info.putIndex(sb.length(), -1);
+        sb.append(separator);
+    }
+
     public CharacterRenderInfo(TextRenderInfo tri) {
         super(tri == null ? "" : tri.getText(), tri == null ? null : getLocation(tri));
         if (tri == null)
@@ -131,7 +133,29 @@ public class CharacterRenderInfo extends TextChunk {
     }
 
     static class StringConversionInfo {
-        Map<Integer, Integer> indexMap;
+        /**
+         * Maps the index of a char in the text to the index of the {@link CharacterRenderInfo} it belongs to,
+         * or to -1 for the inserted separators.
+         */
+        int[] indexMap = new int[16];
         String text;
+
+        /**
+         * Gets the index of the {@link CharacterRenderInfo} the char at the specified position belongs to.
+         *
+         * @param textIndex the position in the text
+         * @return the index of the {@link CharacterRenderInfo}, or -1 if the char is an inserted separator
+         * or if the position is out of the text
+         */
+        int getIndex(int textIndex) {
+            return textIndex >= 0 && textIndex < text.length() ? indexMap[textIndex] : -1;
+        }
+
+        void putIndex(int textIndex, int index) {
+            if (textIndex >= indexMap.length) {
+                indexMap = Arrays.copyOf(indexMap, Math.max(textIndex + 1, indexMap.length * 2));
+            }
+            indexMap[textIndex] = index;
+        }
     }
 }
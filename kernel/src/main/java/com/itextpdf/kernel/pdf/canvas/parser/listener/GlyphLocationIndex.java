@@ -0,0 +1,254 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.geom.Vector;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An event listener which collects the glyphs of a page into a spatial index, so that the text of
+ * many regions can be queried after the page is processed only once.
+ * <p>
+ * A glyph belongs to a region if its baseline intersects the region, which is the same criterion
+ * as the one {@link com.itextpdf.kernel.pdf.canvas.parser.filter.TextRegionEventFilter} applies to whole text chunks.
+ * Glyphs are kept in a uniform grid which is built on the first query, so a query only checks
+ * the glyphs in the grid cells the region overlaps.
+ * A new index instance shall be used for every page.
+ */
+public class GlyphLocationIndex implements IEventListener {
+
+    /**
+     * The desired average number of glyphs in a grid cell.
+     */
+    private static final int GLYPHS_PER_CELL = 8;
+
+    /**
+     * The maximal number of grid cells along one side of the grid.
+     */
+    private static final int MAX_CELLS_PER_SIDE = 1024;
+
+    private final List<CharacterRenderInfo> glyphs = new ArrayList<>();
+
+    private float[] baselines = new float[64];
+    private float minX;
+    private float minY;
+    private float cellWidth;
+    private float cellHeight;
+    private int columns;
+    private int rows;
+    private int[] cellStarts;
+    private int[] cellGlyphs;
+    private int[] visitedStamps;
+    private int queryStamp;
+
+    @Override
+    public void eventOccurred(IEventData data, EventType type) {
+        if (type == EventType.RENDER_TEXT) {
+            for (TextRenderInfo glyph : ((TextRenderInfo) data).getCharacterRenderInfos()) {
+                addGlyph(new CharacterRenderInfo(glyph));
+            }
+        }
+    }
+
+    @Override
+    public Set<EventType> getSupportedEvents() {
+        return Collections.unmodifiableSet(EnumSet.of(EventType.RENDER_TEXT));
+    }
+
+    /**
+     * Gets the number of the collected glyphs.
+     *
+     * @return the number of the collected glyphs
+     */
+    public int size() {
+        return glyphs.size();
+    }
+
+    /**
+     * Gets the glyphs which baselines intersect the region, in reading order.
+     *
+     * @param region the region, or null to get all the glyphs
+     * @return the list of the glyphs of the region
+     */
+    public List<CharacterRenderInfo> getCharacters(Rectangle region) {
+        List<CharacterRenderInfo> result = new ArrayList<>();
+        if (region == null) {
+            result.addAll(glyphs);
+        } else if (!glyphs.isEmpty()) {
+            buildGrid();
+            if (++queryStamp == 0) {
+                visitedStamps = new int[glyphs.size()];
+                queryStamp = 1;
+            }
+            int firstColumn = getColumn(region.getLeft());
+            int lastColumn = getColumn(region.getRight());
+            int firstRow = getRow(region.getBottom());
+            int lastRow = getRow(region.getTop());
+            List<Integer> found = new ArrayList<>();
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    int cell = row * columns + column;
+                    for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                        int glyph = cellGlyphs[i];
+                        if (visitedStamps[glyph] != queryStamp) {
+                            visitedStamps[glyph] = queryStamp;
+                            if (region.intersectsLine(baselines[4 * glyph], baselines[4 * glyph + 1],
+                                    baselines[4 * glyph + 2], baselines[4 * glyph + 3])) {
+                                found.add(glyph);
+                            }
+                        }
+                    }
+                }
+            }
+            // keep the rendering order for the glyphs which the sorting below considers equal
+            Collections.sort(found);
+            for (int glyph : found) {
+                result.add(glyphs.get(glyph));
+            }
+        }
+        Collections.sort(result, new TextChunkLocationBasedComparator(new DefaultTextChunkLocationComparator()));
+        return result;
+    }
+
+    /**
+     * Gets the text of the region. Glyphs are joined into lines and words the same way
+     * {@link RegexBasedLocationExtractionStrategy} does.
+     *
+     * @param region the region, or null to get the text of the whole page
+     * @return the text of the region
+     */
+    public String getText(Rectangle region) {
+        return CharacterRenderInfo.mapString(getCharacters(region)).text;
+    }
+
+    private void addGlyph(CharacterRenderInfo glyph) {
+        int index = glyphs.size();
+        glyphs.add(glyph);
+        if (4 * index + 4 > baselines.length) {
+            float[] newBaselines = new float[baselines.length * 2];
+            System.arraycopy(baselines, 0, newBaselines, 0, baselines.length);
+            baselines = newBaselines;
+        }
+        Vector start = glyph.getLocation().getStartLocation();
+        Vector end = glyph.getLocation().getEndLocation();
+        baselines[4 * index] = start.get(Vector.I1);
+        baselines[4 * index + 1] = start.get(Vector.I2);
+        baselines[4 * index + 2] = end.get(Vector.I1);
+        baselines[4 * index + 3] = end.get(Vector.I2);
+        // the grid is rebuilt if glyphs are added after a query
+        cellStarts = null;
+    }
+
+    private void buildGrid() {
+        if (cellStarts != null) {
+            return;
+        }
+        int count = glyphs.size();
+        minX = Float.MAX_VALUE;
+        minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        float maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < 2 * count; i++) {
+            minX = Math.min(minX, baselines[2 * i]);
+            maxX = Math.max(maxX, baselines[2 * i]);
+            minY = Math.min(minY, baselines[2 * i + 1]);
+            maxY = Math.max(maxY, baselines[2 * i + 1]);
+        }
+        float width = Math.max(maxX - minX, 1);
+        float height = Math.max(maxY - minY, 1);
+        int cellsCount = Math.max(1, count / GLYPHS_PER_CELL);
+        float cellSide = (float) Math.sqrt(width * height / cellsCount);
+        columns = Math.max(1, Math.min(MAX_CELLS_PER_SIDE, (int) Math.ceil(width / cellSide)));
+        rows = Math.max(1, Math.min(MAX_CELLS_PER_SIDE, (int) Math.ceil(height / cellSide)));
+        cellWidth = width / columns;
+        cellHeight = height / rows;
+
+        // counting sort of the glyphs by cells: a glyph is put to all the cells its baseline box overlaps
+        int[] counts = new int[columns * rows + 1];
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < count; i++) {
+                int firstColumn = getColumn(Math.min(baselines[4 * i], baselines[4 * i + 2]));
+                int lastColumn = getColumn(Math.max(baselines[4 * i], baselines[4 * i + 2]));
+                int firstRow = getRow(Math.min(baselines[4 * i + 1], baselines[4 * i + 3]));
+                int lastRow = getRow(Math.max(baselines[4 * i + 1], baselines[4 * i + 3]));
+                for (int row = firstRow; row <= lastRow; row++) {
+                    for (int column = firstColumn; column <= lastColumn; column++) {
+                        int cell = row * columns + column;
+                        if (pass == 0) {
+                            counts[cell + 1]++;
+                        } else {
+                            cellGlyphs[counts[cell]++] = i;
+                        }
+                    }
+                }
+            }
+            if (pass == 0) {
+                for (int cell = 0; cell < columns * rows; cell++) {
+                    counts[cell + 1] += counts[cell];
+                }
+                cellStarts = counts.clone();
+                cellGlyphs = new int[counts[columns * rows]];
+            }
+        }
+        visitedStamps = new int[count];
+        queryStamp = 0;
+    }
+
+    private int getColumn(float x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor((x - minX) / cellWidth)));
+    }
+
+    private int getRow(float y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - minY) / cellHeight)));
+    }
+}
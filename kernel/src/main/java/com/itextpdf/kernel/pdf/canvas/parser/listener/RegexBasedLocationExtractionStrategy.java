@@ -53,7 +53,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -86,10 +85,10 @@ public class RegexBasedLocationExtractionStrategy implements ILocationExtraction
 
         Matcher mat = pattern.matcher(txt.text);
         while (mat.find()) {
-            Integer startIndex = getStartIndex(txt.indexMap, mat.start(), txt.text);
-            Integer endIndex = getEndIndex(txt.indexMap, mat.end() - 1);
-            if (startIndex != null && endIndex != null && startIndex <= endIndex) {
-                for (Rectangle r : toRectangles(parseResult.subList(startIndex.intValue(), endIndex.intValue() + 1))) {
+            int startIndex = getStartIndex(txt, mat.start());
+            int endIndex = getEndIndex(txt, mat.end() - 1);
+            if (startIndex >= 0 && endIndex >= 0 && startIndex <= endIndex) {
+                for (Rectangle r : toRectangles(parseResult.subList(startIndex, endIndex + 1))) {
                     retval.add(new DefaultPdfTextLocation(0, r, mat.group(0)));
                 }
             }
@@ -200,18 +199,17 @@ public class RegexBasedLocationExtractionStrategy implements ILocationExtraction
         return retval;
     }
 
-    private static Integer getStartIndex(Map<Integer, Integer> indexMap, int index,
-            String txt) {
-        while (!indexMap.containsKey(index) && index < txt.length()) {
+    private static int getStartIndex(CharacterRenderInfo.StringConversionInfo txt, int index) {
+        while (txt.getIndex(index) < 0 && index < txt.text.length()) {
             index++;
         }
-        return indexMap.get(index);
+        return txt.getIndex(index);
     }
 
-    private static Integer getEndIndex(Map<Integer, Integer> indexMap, int index) {
-        while (!indexMap.containsKey(index) && index >= 0) {
+    private static int getEndIndex(CharacterRenderInfo.StringConversionInfo txt, int index) {
+        while (txt.getIndex(index) < 0 && index >= 0) {
             index--;
         }
-        return indexMap.get(index);
+        return txt.getIndex(index);
     }
 }
@@ -0,0 +1,274 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.geom.LineSegment;
+import com.itextpdf.kernel.geom.Matrix;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A text extraction strategy which groups text chunks into lines as soon as the chunks are rendered,
+ * instead of collecting all the chunks of a page and sorting them as {@link LocationTextExtractionStrategy} does.
+ * <p>
+ * Lines are kept in an index ordered by their orientation and distance from the origin, and the chunks of every
+ * line are kept ordered by their position on the line. Lines are written in the same order and with
+ * the same separators as by {@link LocationTextExtractionStrategy}. Zero-length chunks, which are usually diacritical
+ * marks, join the closest line within a small vertical deviation and are placed by their position on the line
+ * rather than attached to their base characters. /ActualText is not taken into account.
+ * <p>
+ * If the strategy is created with a {@link Writer}, no more than a fixed number of lines are kept in memory:
+ * when the limit is exceeded, the first line in reading order is written out and forgotten. The output is the same
+ * as the one of the buffered mode as long as the text is rendered roughly in reading order. Chunks which belong
+ * to an already written line are written later as a separate line.
+ * A new strategy instance shall be used for every page.
+ */
+public class StreamingTextExtractionStrategy implements ITextExtractionStrategy {
+
+    /**
+     * The default number of lines kept in memory in streaming mode.
+     */
+    public static final int DEFAULT_MAX_PENDING_LINES = 128;
+
+    /**
+     * The same deviation as the one allowed by {@link TextChunkLocationDefaultImp#sameLine(ITextChunkLocation)}.
+     */
+    private static final int DIACRITICAL_MARKS_ALLOWED_VERTICAL_DEVIATION = 2;
+
+    private final Writer writer;
+    private final boolean buffered;
+    private final int maxPendingLines;
+    private final TreeMap<Long, List<TextChunk>> pendingLines = new TreeMap<>();
+    private boolean rightToLeftRunDirection = false;
+    private boolean lineWritten = false;
+
+    /**
+     * Creates a strategy which buffers the text of a page until {@link #getResultantText()} is called.
+     */
+    public StreamingTextExtractionStrategy() {
+        this.writer = new StringWriter();
+        this.buffered = true;
+        this.maxPendingLines = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Creates a strategy which writes lines to the writer as soon as they are finalized.
+     *
+     * @param writer the writer to which the extracted text is written. It is not flushed or closed by the strategy
+     */
+    public StreamingTextExtractionStrategy(Writer writer) {
+        this(writer, DEFAULT_MAX_PENDING_LINES);
+    }
+
+    /**
+     * Creates a strategy which writes lines to the writer as soon as they are finalized.
+     *
+     * @param writer          the writer to which the extracted text is written. It is not flushed or closed by the strategy
+     * @param maxPendingLines the maximum number of lines kept in memory
+     */
+    public StreamingTextExtractionStrategy(Writer writer, int maxPendingLines) {
+        if (maxPendingLines <= 0) {
+            throw new IllegalArgumentException("The number of pending lines shall be positive.");
+        }
+        this.writer = writer;
+        this.buffered = false;
+        this.maxPendingLines = maxPendingLines;
+    }
+
+    /**
+     * Sets if text flows from left to right or from right to left.
+     * Call this method with <code>true</code> argument for extracting Arabic, Hebrew or other
+     * text with right-to-left writing direction.
+     *
+     * @param rightToLeftRunDirection value specifying whether the direction should be right to left
+     * @return this object
+     */
+    public StreamingTextExtractionStrategy setRightToLeftRunDirection(boolean rightToLeftRunDirection) {
+        this.rightToLeftRunDirection = rightToLeftRunDirection;
+        return this;
+    }
+
+    @Override
+    public void eventOccurred(IEventData data, EventType type) {
+        if (type.equals(EventType.RENDER_TEXT)) {
+            TextRenderInfo renderInfo = (TextRenderInfo) data;
+            LineSegment segment = renderInfo.getBaseline();
+            if (renderInfo.getRise() != 0) {
+                // remove the rise from the baseline, so that super- and subscripts are placed on the line they belong to
+                segment = segment.transformBy(new Matrix(0, -renderInfo.getRise()));
+            }
+            TextChunk chunk = new TextChunk(renderInfo.getText(), new TextChunkLocationDefaultImp(segment.getStartPoint(),
+                    segment.getEndPoint(), renderInfo.getSingleSpaceWidth()));
+            addChunk(chunk);
+        }
+    }
+
+    @Override
+    public Set<EventType> getSupportedEvents() {
+        return null;
+    }
+
+    /**
+     * Writes all the pending lines. If the strategy was created with a {@link Writer}, the text is written
+     * to that writer and an empty string is returned, otherwise the text of the page is returned.
+     *
+     * @return the extracted text, or an empty string in streaming mode
+     */
+    @Override
+    public String getResultantText() {
+        while (!pendingLines.isEmpty()) {
+            writeFirstLine();
+        }
+        return buffered ? writer.toString() : "";
+    }
+
+    private void addChunk(TextChunk chunk) {
+        ITextChunkLocation location = chunk.getLocation();
+        Long key = lineKey(location.orientationMagnitude(), location.distPerpendicular());
+        List<TextChunk> line = pendingLines.get(key);
+        if (line == null && location.getStartLocation().equals(location.getEndLocation())) {
+            // a zero-length chunk is most probably a diacritical mark, which may be slightly shifted from its line
+            line = findClosestLine(location);
+        }
+        if (line == null) {
+            line = new ArrayList<>();
+            pendingLines.put(key, line);
+        }
+        // find the position after all the chunks which don't go after the new one, the same as a stable sort does
+        float chunkPosition = positionOnLine(chunk);
+        int low = 0;
+        int high = line.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (positionOnLine(line.get(middle)) > chunkPosition) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        line.add(low, chunk);
+        if (pendingLines.size() > maxPendingLines) {
+            writeFirstLine();
+        }
+    }
+
+    private List<TextChunk> findClosestLine(ITextChunkLocation location) {
+        int distPerpendicular = location.distPerpendicular();
+        Map.Entry<Long, List<TextChunk>> lower = pendingLines.floorEntry(
+                lineKey(location.orientationMagnitude(), distPerpendicular));
+        Map.Entry<Long, List<TextChunk>> higher = pendingLines.ceilingEntry(
+                lineKey(location.orientationMagnitude(), distPerpendicular));
+        List<TextChunk> closest = null;
+        int closestDistance = 0;
+        if (lower != null && isMarkOfLine(location, lower.getValue())) {
+            closest = lower.getValue();
+            closestDistance = distPerpendicular - lower.getValue().get(0).getLocation().distPerpendicular();
+        }
+        if (higher != null && isMarkOfLine(location, higher.getValue())) {
+            int distance = higher.getValue().get(0).getLocation().distPerpendicular() - distPerpendicular;
+            if (closest == null || distance < closestDistance) {
+                closest = higher.getValue();
+            }
+        }
+        return closest;
+    }
+
+    private static boolean isMarkOfLine(ITextChunkLocation markLocation, List<TextChunk> line) {
+        ITextChunkLocation lineLocation = line.get(0).getLocation();
+        return lineLocation.orientationMagnitude() == markLocation.orientationMagnitude()
+                && Math.abs(lineLocation.distPerpendicular() - markLocation.distPerpendicular())
+                <= DIACRITICAL_MARKS_ALLOWED_VERTICAL_DEVIATION;
+    }
+
+    private static Long lineKey(int orientationMagnitude, int distPerpendicular) {
+        // the key is ordered by orientation first and by the signed perpendicular distance then
+        return ((long) orientationMagnitude << 32) | ((distPerpendicular & 0xFFFFFFFFL) ^ 0x80000000L);
+    }
+
+    private float positionOnLine(TextChunk chunk) {
+        return rightToLeftRunDirection ? -chunk.getLocation().distParallelEnd() : chunk.getLocation().distParallelStart();
+    }
+
+    private void writeFirstLine() {
+        List<TextChunk> line = pendingLines.pollFirstEntry().getValue();
+        try {
+            if (lineWritten) {
+                writer.write('\n');
+            }
+            TextChunk lastChunk = null;
+            for (TextChunk chunk : line) {
+                // we only insert a blank space if the trailing character of the previous string wasn't a space,
+                // and the leading character of the current string isn't a space
+                if (lastChunk != null && chunk.getLocation().isAtWordBoundary(lastChunk.getLocation())
+                        && !startsWithSpace(chunk.getText()) && !endsWithSpace(lastChunk.getText())) {
+                    writer.write(' ');
+                }
+                writer.write(chunk.getText());
+                lastChunk = chunk;
+            }
+        } catch (IOException e) {
+            throw new PdfException(PdfException.IoException, e);
+        }
+        lineWritten = true;
+    }
+
+    private static boolean startsWithSpace(String str) {
+        return str.length() != 0 && str.charAt(0) == ' ';
+    }
+
+    private static boolean endsWithSpace(String str) {
+        return str.length() != 0 && str.charAt(str.length() - 1) == ' ';
+    }
+}
@@ -45,6 +45,7 @@ package com.itextpdf.kernel.pdf.canvas.parser.util;
 
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfLiteral;
@@ -57,6 +58,7 @@ import com.itextpdf.kernel.pdf.PdfString;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -72,6 +74,24 @@ public class PdfCanvasParser {
 
     private PdfResources currentResources;
 
+    /**
+     * Upper limit of distinct operators which are interned by a single parser.
+     * Operator set of the PDF specification is much smaller, so the limit only guards against broken content streams.
+     */
+    private static final int MAX_INTERNED_OPERATORS = 256;
+
+    private static final byte[] BI = ByteUtils.getIsoBytes("BI");
+
+    private boolean internOperators;
+
+    private PdfLiteral[] internedOperators;
+
+    private byte[][] internedOperatorsContent;
+
+    private int[] internedOperatorsHashes;
+
+    private int internedOperatorsCount;
+
     /**
      * Creates a new instance of PdfContentParser
      * @param tokeniser the tokeniser with the content
@@ -92,6 +112,28 @@ public class PdfCanvasParser {
         this.currentResources = currentResources;
     }
 
+    /**
+     * Defines whether operators should be interned by this parser. If interning is enabled, every occurrence
+     * of the same operator is returned as the same {@link PdfLiteral} instance, so that processing a content stream
+     * doesn't allocate new objects for its operators. Interned literals must not be modified by the caller.
+     * Interning is disabled by default.
+     *
+     * @param internOperators true if operators should be interned, false otherwise
+     */
+    public void setInternOperators(boolean internOperators) {
+        this.internOperators = internOperators;
+    }
+
+    /**
+     * Checks whether operators are interned by this parser.
+     *
+     * @return true if operators are interned, false otherwise
+     * @see #setInternOperators(boolean)
+     */
+    public boolean isInternOperators() {
+        return internOperators;
+    }
+
     /**
      * Parses a single command from the content. Each command is output as an array of arguments
      * having the command itself as the last element. The returned array will be empty if the
@@ -115,11 +157,11 @@ public class PdfCanvasParser {
         while ((ob = readObject()) != null) {
             ls.add(ob);
             if (tokeniser.getTokenType() == PdfTokenizer.TokenType.Other) {
-                if ("BI".equals(ob.toString())) {
+                if (tokeniser.tokenValueEqualsTo(BI)) {
                     PdfStream inlineImageAsStream = InlineImageParsingUtils.parse(this, currentResources.getResource(PdfName.ColorSpace));
                     ls.clear();
                     ls.add(inlineImageAsStream);
-                    ls.add(new PdfLiteral("EI"));
+                    ls.add(internOperators ? internOperator(ByteUtils.getIsoBytes("EI")) : new PdfLiteral("EI"));
                 }
                 break;
             }
@@ -207,6 +249,9 @@ public class PdfCanvasParser {
                 //use PdfNumber(byte[]) here, as in this case number parsing won't happen until it's needed.
                 return new PdfNumber(tokeniser.getByteContent());
             default:
+                if (internOperators && type == PdfTokenizer.TokenType.Other) {
+                    return internCurrentOperator();
+                }
                 return new PdfLiteral(tokeniser.getByteContent());
         }
     }
@@ -224,4 +269,68 @@ public class PdfCanvasParser {
         }
         return false;
     }
+
+    private PdfLiteral internCurrentOperator() {
+        int hash = tokeniser.tokenValueHashCode();
+        if (internedOperators != null) {
+            int mask = internedOperators.length - 1;
+            for (int i = hash & mask; internedOperators[i] != null; i = (i + 1) & mask) {
+                if (internedOperatorsHashes[i] == hash && tokeniser.tokenValueEqualsTo(internedOperatorsContent[i])) {
+                    return internedOperators[i];
+                }
+            }
+        }
+        return internOperator(tokeniser.getByteContent(), hash);
+    }
+
+    private PdfLiteral internOperator(byte[] content) {
+        return internOperator(content, Arrays.hashCode(content));
+    }
+
+    private PdfLiteral internOperator(byte[] content, int hash) {
+        if (internedOperators == null) {
+            internedOperators = new PdfLiteral[32];
+            internedOperatorsContent = new byte[32][];
+            internedOperatorsHashes = new int[32];
+        }
+        int mask = internedOperators.length - 1;
+        int i = hash & mask;
+        for (; internedOperators[i] != null; i = (i + 1) & mask) {
+            if (internedOperatorsHashes[i] == hash && Arrays.equals(content, internedOperatorsContent[i])) {
+                return internedOperators[i];
+            }
+        }
+        PdfLiteral literal = new PdfLiteral(content);
+        if (internedOperatorsCount >= MAX_INTERNED_OPERATORS) {
+            return literal;
+        }
+        internedOperators[i] = literal;
+        internedOperatorsContent[i] = content;
+        internedOperatorsHashes[i] = hash;
+        if (++internedOperatorsCount * 2 > internedOperators.length) {
+            rehashInternedOperators();
+        }
+        return literal;
+    }
+
+    private void rehashInternedOperators() {
+        PdfLiteral[] oldOperators = internedOperators;
+        byte[][] oldContent = internedOperatorsContent;
+        int[] oldHashes = internedOperatorsHashes;
+        internedOperators = new PdfLiteral[oldOperators.length * 2];
+        internedOperatorsContent = new byte[oldOperators.length * 2][];
+        internedOperatorsHashes = new int[oldOperators.length * 2];
+        int mask = internedOperators.length - 1;
+        for (int j = 0; j < oldOperators.length; j++) {
+            if (oldOperators[j] != null) {
+                int i = oldHashes[j] & mask;
+                while (internedOperators[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                internedOperators[i] = oldOperators[j];
+                internedOperatorsContent[i] = oldContent[j];
+                internedOperatorsHashes[i] = oldHashes[j];
+            }
+        }
+    }
 }
@@ -0,0 +1,247 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.utils;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.counter.event.IMetaInfo;
+import com.itextpdf.kernel.pdf.DocumentProperties;
+import com.itextpdf.kernel.pdf.MemoryLimitsAwareHandler;
+import com.itextpdf.kernel.pdf.ParallelDocumentProcessor;
+import com.itextpdf.kernel.pdf.ParallelDocumentProcessor.IWorker;
+import com.itextpdf.kernel.pdf.ParallelDocumentProcessor.IWorkerFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.utils.PdfSplitter.IDocumentReadyListener;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits a document into several documents using several worker threads.
+ * <p>
+ * Unlike {@link PdfSplitter}, which copies pages from a single {@link PdfDocument} instance, every worker
+ * opens the source document with its own {@link PdfReader}. All the readers share one source of bytes,
+ * which therefore shall support concurrent reads, e.g. the source created with
+ * {@code new RandomAccessSourceFactory().setUseConcurrentAccess(true).createBestSource(filename)}.
+ * The source is not closed by the splitter.
+ * <p>
+ * Resultant documents are created and filled concurrently and are passed to the
+ * {@link IDocumentReadyListener} from the worker threads, so the listener and
+ * {@link #getNextPdfWriter(PageRange)} shall be thread-safe. The order in which
+ * the documents are passed to the listener is not defined.
+ */
+public class ParallelPdfSplitter {
+
+    private final ParallelDocumentProcessor processor;
+    private final int workersCount;
+    private boolean preserveTagged;
+    private boolean preserveOutlines;
+    private IMetaInfo metaInfo;
+
+    /**
+     * Creates a new instance of ParallelPdfSplitter class.
+     *
+     * @param source the source of the document to be split, shall support concurrent reads
+     * @param readerProperties properties of the readers which read the source document. Every reader uses
+     *                         its own {@link MemoryLimitsAwareHandler} with the limits of the given one
+     * @param workersCount the number of worker threads
+     */
+    public ParallelPdfSplitter(IRandomAccessSource source, ReaderProperties readerProperties, int workersCount) {
+        if (workersCount <= 0) {
+            throw new IllegalArgumentException("The number of workers shall be positive.");
+        }
+        this.processor = new ParallelDocumentProcessor(source, readerProperties);
+        this.workersCount = workersCount;
+        this.preserveTagged = true;
+        this.preserveOutlines = true;
+    }
+
+    /**
+     * Sets the {@link IMetaInfo} that will be used during {@link PdfDocument} creation.
+     *
+     * @param metaInfo meta info to set
+     */
+    public void setEventCountingMetaInfo(IMetaInfo metaInfo) {
+        this.metaInfo = metaInfo;
+    }
+
+    /**
+     * If original document is tagged, then by default all resultant document will also be tagged.
+     * This could be changed with this flag - if set to false, resultant documents will be not tagged, even if
+     * original document is tagged.
+     *
+     * @param preserveTagged defines whether the resultant documents need to be tagged
+     */
+    public void setPreserveTagged(boolean preserveTagged) {
+        this.preserveTagged = preserveTagged;
+    }
+
+    /**
+     * If original document has outlines, then by default all resultant document will also have outlines.
+     * This could be changed with this flag - if set to false, resultant documents won't contain outlines, even if
+     * original document had them.
+     *
+     * @param preserveOutlines defines whether the resultant documents will preserve outlines or not
+     */
+    public void setPreserveOutlines(boolean preserveOutlines) {
+        this.preserveOutlines = preserveOutlines;
+    }
+
+    /**
+     * Splits a document into smaller documents with no more than @pageCount pages each.
+     *
+     * @param pageCount     the biggest possible number of pages in a split document.
+     * @param documentReady the event listener which is called from a worker thread when another document is ready.
+     *                      You can close this document in this listener, for instance.
+     */
+    public void splitByPageCount(int pageCount, IDocumentReadyListener documentReady) {
+        int numberOfPages = getNumberOfPages();
+        List<PageRange> pageRanges = new ArrayList<>();
+        for (int startPage = 1; startPage <= numberOfPages; startPage += pageCount) {
+            int endPage = Math.min(startPage + pageCount - 1, numberOfPages);
+            pageRanges.add(new PageRange().addPageSequence(startPage, endPage));
+        }
+        extractPageRanges(pageRanges, documentReady);
+    }
+
+    /**
+     * Extracts the specified page ranges from a document.
+     *
+     * @param pageRanges    the list of page ranges for each of the resultant document.
+     * @param documentReady the event listener which is called from a worker thread when another document is ready.
+     *                      You can close this document in this listener, for instance.
+     */
+    public void extractPageRanges(final List<PageRange> pageRanges, final IDocumentReadyListener documentReady) {
+        if (pageRanges.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(workersCount, pageRanges.size()));
+        try {
+            processor.process(executor, workersCount, pageRanges.size(), createDocumentProperties(),
+                    new IWorkerFactory() {
+                        @Override
+                        public IWorker createWorker(final PdfDocument sourceDocument) {
+                            return new IWorker() {
+                                @Override
+                                public void process(int item) {
+                                    extractPageRange(sourceDocument, pageRanges.get(item), documentReady);
+                                }
+                            };
+                        }
+                    });
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+    }
+
+    /**
+     * Gets the number of pages of the document to be split.
+     *
+     * @return the number of pages
+     */
+    public int getNumberOfPages() {
+        try (PdfDocument document = processor.openDocument(createDocumentProperties())) {
+            return document.getNumberOfPages();
+        } catch (IOException e) {
+            throw new PdfException(PdfException.IoException, e);
+        }
+    }
+
+    /**
+     * This method is called when another split document is to be created.
+     * You can override this method and return your own {@link PdfWriter} depending on your needs.
+     * The method is called from worker threads concurrently.
+     *
+     * @param documentPageRange the page range of the original document to be included in the document being created now.
+     * @return the PdfWriter instance for the document which is being created.
+     */
+    protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+        return new PdfWriter(new ByteArrayOutputStream());
+    }
+
+    private void extractPageRange(PdfDocument sourceDocument, PageRange pageRange,
+            IDocumentReadyListener documentReady) {
+        PdfDocument currentDocument = createPdfDocument(sourceDocument, pageRange);
+        sourceDocument.copyPagesTo(pageRange.getQualifyingPageNums(sourceDocument.getNumberOfPages()),
+                currentDocument);
+        documentReady.documentReady(currentDocument, pageRange);
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        boolean terminated = false;
+        while (!terminated) {
+            try {
+                terminated = executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private DocumentProperties createDocumentProperties() {
+        return new DocumentProperties().setEventCountingMetaInfo(metaInfo);
+    }
+
+    private PdfDocument createPdfDocument(PdfDocument sourceDocument, PageRange currentPageRange) {
+        PdfDocument newDocument = new PdfDocument(getNextPdfWriter(currentPageRange), createDocumentProperties());
+        if (sourceDocument.isTagged() && preserveTagged)
+            newDocument.setTagged();
+        if (sourceDocument.hasOutlines() && preserveOutlines)
+            newDocument.initializeOutlines();
+        return newDocument;
+    }
+}
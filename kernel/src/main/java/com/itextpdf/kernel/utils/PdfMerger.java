@@ -44,6 +44,10 @@
 package com.itextpdf.kernel.utils;
 
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.tagging.IStructureNode;
+import com.itextpdf.kernel.pdf.tagging.PdfStructElem;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -55,6 +59,9 @@ public class PdfMerger {
     private boolean closeSrcDocuments;
     private boolean mergeTags;
     private boolean mergeOutlines;
+    private boolean streamingMode;
+    private PdfDocument lastMergedDocument;
+    private List<PdfPage> pagesToFlush = new ArrayList<>();
 
     /**
      * This class is used to merge a number of existing documents into one. By default, if source document
@@ -96,6 +103,29 @@ public class PdfMerger {
         return this;
     }
 
+    /**
+     * If set to <i>true</i> then merged pages are flushed to the output as soon as they are merged
+     * and the cache of copied objects is cleared once merging from a source document is finished.
+     * This keeps the memory consumption independent of the number of merged documents.
+     * Default value - <i>false</i>.
+     * <p>
+     * Merging from a source document is considered to be finished when pages of another document
+     * are merged, or immediately after merging if source documents are closed by this merger
+     * (see {@link #setCloseSourceDocuments(boolean)}). Note that if pages of a finished source document
+     * are merged again, resources shared between these pages will be duplicated, unless smart mode is used.
+     * Merged pages can't be modified after merging in this mode.
+     * <p>
+     * In tagged documents pages are flushed only when the structure tree of the document has a single
+     * Document root tag, as copying tags of the next documents might require to restructure it otherwise.
+     *
+     * @param streamingMode should be true to flush merged pages and forget copied objects
+     * @return this {@code PdfMerger} instance
+     */
+    public PdfMerger setStreamingMode(boolean streamingMode) {
+        this.streamingMode = streamingMode;
+        return this;
+    }
+
     /**
      * This method merges pages from the source document to the current one.
      * <p>
@@ -137,7 +167,25 @@ public class PdfMerger {
             pdfDocument.initializeOutlines();
         }
 
-        from.copyPagesTo(pages, pdfDocument);
+        if (streamingMode && lastMergedDocument != null && lastMergedDocument != from) {
+            pdfDocument.clearCopiedObjectsCache(lastMergedDocument);
+        }
+        List<PdfPage> mergedPages = from.copyPagesTo(pages, pdfDocument);
+        if (streamingMode) {
+            pagesToFlush.addAll(mergedPages);
+            if (!pdfDocument.isTagged() || hasSingleDocumentRootTag()) {
+                for (PdfPage page : pagesToFlush) {
+                    page.flush(true);
+                }
+                pagesToFlush.clear();
+            }
+            if (closeSrcDocuments) {
+                pdfDocument.clearCopiedObjectsCache(from);
+                lastMergedDocument = null;
+            } else {
+                lastMergedDocument = from;
+            }
+        }
         if (closeSrcDocuments) {
             from.close();
         }
@@ -155,4 +203,10 @@ public class PdfMerger {
     public void close() {
         pdfDocument.close();
     }
+
+    private boolean hasSingleDocumentRootTag() {
+        List<IStructureNode> rootKids = pdfDocument.getStructTreeRoot().getKids();
+        return rootKids.size() == 1 && rootKids.get(0) instanceof PdfStructElem
+                && PdfName.Document.equals(((PdfStructElem) rootKids.get(0)).getRole());
+    }
 }
@@ -23,8 +23,11 @@
 package com.itextpdf.kernel.font;
 
 import com.itextpdf.io.font.CMapEncoding;
+import com.itextpdf.io.font.FontCache;
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.font.TrueTypeFont;
+import com.itextpdf.io.font.cmap.CMapCidUni;
+import com.itextpdf.io.font.cmap.CMapUniCid;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
@@ -97,4 +100,22 @@ public class PdfType0FontTest extends ExtendedITextTest {
         Assert.assertEquals(0, cmap.getSupplement());
         Assert.assertEquals(PdfEncodings.IDENTITY_H, cmap.getCmapName());
     }
+
+    @Test
+    public void parsedCmapsAreCachedTest() {
+        FontCache.clearCachedCmaps();
+        CMapCidUni cidUni = FontCache.getCid2UniCmap("UniJIS-UCS2-H");
+        Assert.assertSame(cidUni, FontCache.getCid2UniCmap("UniJIS-UCS2-H"));
+
+        CMapUniCid uniCid = FontCache.getUni2CidCmap("UniJIS-UCS2-H");
+        Assert.assertSame(uniCid, FontCache.getUni2CidCmap("UniJIS-UCS2-H"));
+        int cid = uniCid.lookup(0x4E00);
+        Assert.assertTrue(cid > 0);
+        Assert.assertEquals(0x4E00, cidUni.lookup(cid));
+
+        FontCache.clearCachedCmaps();
+        CMapCidUni reparsedCidUni = FontCache.getCid2UniCmap("UniJIS-UCS2-H");
+        Assert.assertNotSame(cidUni, reparsedCidUni);
+        Assert.assertEquals(0x4E00, reparsedCidUni.lookup(cid));
+    }
 }
@@ -0,0 +1,115 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.pdf.ParallelDocumentProcessor.IWorker;
+import com.itextpdf.kernel.pdf.ParallelDocumentProcessor.IWorkerFactory;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Category(UnitTest.class)
+public class ParallelDocumentProcessorTest extends ExtendedITextTest {
+
+    @Test
+    public void everyDocumentHasOwnMemoryLimitsAwareHandlerTest() throws IOException {
+        MemoryLimitsAwareHandler handler = new MemoryLimitsAwareHandler()
+                .setMaxSizeOfSingleDecompressedPdfStream(1000)
+                .setMaxSizeOfDecompressedPdfStreamsSum(5000);
+        ParallelDocumentProcessor processor = new ParallelDocumentProcessor(createSource(1),
+                new ReaderProperties().setMemoryLimitsAwareHandler(handler));
+
+        try (PdfDocument document1 = processor.openDocument(new DocumentProperties());
+                PdfDocument document2 = processor.openDocument(new DocumentProperties())) {
+            Assert.assertNotSame(handler, document1.memoryLimitsAwareHandler);
+            Assert.assertNotSame(document1.memoryLimitsAwareHandler, document2.memoryLimitsAwareHandler);
+            Assert.assertEquals(1000, document1.memoryLimitsAwareHandler.getMaxSizeOfSingleDecompressedPdfStream());
+            Assert.assertEquals(5000, document1.memoryLimitsAwareHandler.getMaxSizeOfDecompressedPdfStreamsSum());
+        }
+    }
+
+    @Test
+    public void workerErrorIsRethrownTest() throws IOException {
+        ParallelDocumentProcessor processor = new ParallelDocumentProcessor(createSource(4), new ReaderProperties());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            processor.process(executor, 2, 4, new DocumentProperties(), new IWorkerFactory() {
+                @Override
+                public IWorker createWorker(PdfDocument document) {
+                    return new IWorker() {
+                        @Override
+                        public void process(int item) {
+                            if (item == 2) {
+                                throw new StackOverflowError();
+                            }
+                        }
+                    };
+                }
+            });
+            Assert.fail("StackOverflowError is expected");
+        } catch (StackOverflowError expected) {
+            // the error is not wrapped
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static IRandomAccessSource createSource(int numberOfPages) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument document = new PdfDocument(new PdfWriter(baos));
+        for (int i = 0; i < numberOfPages; i++) {
+            document.addNewPage();
+        }
+        document.close();
+        return new RandomAccessSourceFactory().createSource(baos.toByteArray());
+    }
+}
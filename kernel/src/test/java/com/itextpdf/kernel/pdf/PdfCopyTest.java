@@ -405,6 +405,60 @@ public class PdfCopyTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder));
     }
 
+    @Test
+    public void copiedStreamContentSurvivesSourceCloseTest() throws IOException {
+        String srcFileName = destinationFolder + "copiedStreamContentSurvivesSourceCloseTest_src.pdf";
+        String outFileName = destinationFolder + "copiedStreamContentSurvivesSourceCloseTest.pdf";
+        PdfDocument srcDoc = new PdfDocument(new PdfWriter(srcFileName));
+        for (int i = 0; i < 3; i++) {
+            srcDoc.addNewPage().getFirstContentStream().getOutputStream()
+                    .writeBytes(("q 1 0 0 1 " + i + " 0 cm 0 0 100 100 re f Q").getBytes());
+        }
+        srcDoc.close();
+
+        srcDoc = new PdfDocument(new PdfReader(srcFileName));
+        List<byte[]> expectedRawContents = new ArrayList<>();
+        for (int i = 1; i <= srcDoc.getNumberOfPages(); i++) {
+            expectedRawContents.add(srcDoc.getPage(i).getFirstContentStream().getBytes(false));
+        }
+        PdfDocument destDoc = new PdfDocument(new PdfWriter(outFileName));
+        srcDoc.copyPagesTo(1, srcDoc.getNumberOfPages(), destDoc);
+        // Copied streams still refer to the source document content at this point.
+        srcDoc.close();
+        destDoc.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(outFileName));
+        for (int i = 1; i <= resultDoc.getNumberOfPages(); i++) {
+            Assert.assertArrayEquals(expectedRawContents.get(i - 1),
+                    resultDoc.getPage(i).getFirstContentStream().getBytes(false));
+            Assert.assertEquals("q 1 0 0 1 " + (i - 1) + " 0 cm 0 0 100 100 re f Q",
+                    new String(resultDoc.getPage(i).getFirstContentStream().getBytes()));
+        }
+        resultDoc.close();
+    }
+
+    @Test
+    public void modifyCopiedStreamContentTest() throws IOException {
+        String srcFileName = destinationFolder + "modifyCopiedStreamContentTest_src.pdf";
+        String outFileName = destinationFolder + "modifyCopiedStreamContentTest.pdf";
+        PdfDocument srcDoc = new PdfDocument(new PdfWriter(srcFileName));
+        srcDoc.addNewPage().getFirstContentStream().getOutputStream().writeBytes("0 0 m 10 10 l S".getBytes());
+        srcDoc.close();
+
+        srcDoc = new PdfDocument(new PdfReader(srcFileName));
+        PdfDocument destDoc = new PdfDocument(new PdfWriter(outFileName));
+        srcDoc.copyPagesTo(1, 1, destDoc);
+        PdfStream copiedContent = destDoc.getFirstPage().getFirstContentStream();
+        Assert.assertEquals("0 0 m 10 10 l S", new String(copiedContent.getBytes()));
+        copiedContent.setData(" 10 10 m 20 20 l S".getBytes(), true);
+        destDoc.close();
+        srcDoc.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(outFileName));
+        Assert.assertEquals("0 0 m 10 10 l S 10 10 m 20 20 l S", new String(resultDoc.getFirstPage().getFirstContentStream().getBytes()));
+        resultDoc.close();
+    }
+
     private List<PdfAnnotation> getPdfAnnotations(PdfDocument pdfDoc) {
         int number = pdfDoc.getNumberOfPages();
         ArrayList<PdfAnnotation> annotations = new ArrayList<>();
@@ -61,6 +61,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.rules.ExpectedException;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -2024,6 +2025,80 @@ public class PdfReaderTest extends ExtendedITextTest {
         new PdfDocument(new PdfReader(fileName));
     }
 
+    @Test
+    public void lazyXrefReadingOfIncrementalUpdatesTest() throws IOException {
+        lazyXrefReadingTest(false);
+    }
+
+    @Test
+    public void lazyXrefReadingOfIncrementalUpdatesWithXrefStreamsTest() throws IOException {
+        lazyXrefReadingTest(true);
+    }
+
+    @Test
+    public void lazyXrefReadingIsIgnoredInStampingModeTest() throws IOException {
+        byte[] bytes = createIncrementallyUpdatedDocument(false, 3);
+        PdfReader reader = new PdfReader(new ByteArrayInputStream(bytes), new ReaderProperties().setLazyXrefReading(true));
+        PdfDocument pdfDoc = new PdfDocument(reader, new PdfWriter(new ByteArrayOutputStream()),
+                new StampingProperties().useAppendMode());
+        Assert.assertFalse(reader.hasPendingXrefSections());
+        Assert.assertEquals(4, pdfDoc.getNumberOfPages());
+        pdfDoc.close();
+    }
+
+    private void lazyXrefReadingTest(boolean fullCompression) throws IOException {
+        byte[] bytes = createIncrementallyUpdatedDocument(fullCompression, 3);
+
+        PdfDocument eagerDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(bytes)));
+        PdfReader lazyReader = new PdfReader(new ByteArrayInputStream(bytes), new ReaderProperties().setLazyXrefReading(true));
+        PdfDocument lazyDoc = new PdfDocument(lazyReader);
+        Assert.assertTrue(lazyReader.hasPendingXrefSections());
+        Assert.assertEquals("Revision 3", lazyDoc.getDocumentInfo().getTitle());
+
+        // the first page is defined in the original revision
+        Assert.assertEquals(4, lazyDoc.getNumberOfPages());
+        Assert.assertArrayEquals(eagerDoc.getPage(1).getContentBytes(), lazyDoc.getPage(1).getContentBytes());
+        Assert.assertArrayEquals(eagerDoc.getPage(4).getContentBytes(), lazyDoc.getPage(4).getContentBytes());
+
+        Assert.assertEquals(eagerDoc.getNumberOfPdfObjects(), lazyDoc.getNumberOfPdfObjects());
+        Assert.assertFalse(lazyReader.hasPendingXrefSections());
+        for (int i = 1; i < eagerDoc.getNumberOfPdfObjects(); i++) {
+            PdfIndirectReference eagerRef = eagerDoc.getXref().get(i);
+            PdfIndirectReference lazyRef = lazyDoc.getXref().get(i);
+            Assert.assertEquals(eagerRef == null, lazyRef == null);
+            if (eagerRef != null) {
+                Assert.assertEquals(eagerRef.isFree(), lazyRef.isFree());
+                Assert.assertEquals(eagerRef.getOffset(), lazyRef.getOffset());
+                Assert.assertEquals(eagerRef.getGenNumber(), lazyRef.getGenNumber());
+            }
+        }
+        eagerDoc.close();
+        lazyDoc.close();
+    }
+
+    private static byte[] createIncrementallyUpdatedDocument(boolean fullCompression, int revisions) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos, new WriterProperties().setFullCompressionMode(fullCompression)));
+        addPageWithText(pdfDoc, "Original revision");
+        pdfDoc.close();
+        byte[] bytes = baos.toByteArray();
+        for (int i = 1; i <= revisions; i++) {
+            baos = new ByteArrayOutputStream();
+            pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(bytes)), new PdfWriter(baos),
+                    new StampingProperties().useAppendMode());
+            pdfDoc.getDocumentInfo().setTitle("Revision " + i);
+            addPageWithText(pdfDoc, "Revision " + i);
+            pdfDoc.close();
+            bytes = baos.toByteArray();
+        }
+        return bytes;
+    }
+
+    private static void addPageWithText(PdfDocument pdfDoc, String text) {
+        PdfPage page = pdfDoc.addNewPage();
+        page.getFirstContentStream().getOutputStream().writeBytes(ByteUtils.getIsoBytes("%" + text + "\n"));
+    }
+
     private PdfReader pdfDocumentNotReadTestInit() throws IOException {
         String filename = sourceFolder + "XrefWithNullOffsets.pdf";
 
@@ -1300,6 +1300,35 @@ public class PdfStampingTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(destinationFolder + "stampingStreamNoEndingWhitespace01.pdf", sourceFolder + "cmp_stampingStreamNoEndingWhitespace01.pdf", destinationFolder, "diff_"));
     }
 
+    @Test
+    public void stampingKeepsUnmodifiedStreamBytesTest() throws IOException {
+        String srcFileName = destinationFolder + "stampingKeepsUnmodifiedStreamBytesTest_src.pdf";
+        String outFileName = destinationFolder + "stampingKeepsUnmodifiedStreamBytesTest.pdf";
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(srcFileName));
+        pdfDoc.addNewPage().getFirstContentStream().getOutputStream().writeBytes("0 0 m 100 100 l S".getBytes());
+        PdfStream uncompressed = (PdfStream) new PdfStream("BT ET".getBytes()).makeIndirect(pdfDoc);
+        uncompressed.setCompressionLevel(CompressionConstants.NO_COMPRESSION);
+        pdfDoc.getCatalog().put(new PdfName("Uncompressed"), uncompressed);
+        pdfDoc.close();
+
+        PdfReader srcReader = new PdfReader(srcFileName);
+        PdfDocument srcDoc = new PdfDocument(srcReader);
+        byte[] expectedContent = srcDoc.getFirstPage().getFirstContentStream().getBytes(false);
+        srcDoc.close();
+
+        pdfDoc = new PdfDocument(new PdfReader(srcFileName), new PdfWriter(outFileName));
+        pdfDoc.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(outFileName));
+        PdfStream content = resultDoc.getFirstPage().getFirstContentStream();
+        assertEquals(PdfName.FlateDecode, content.getAsName(PdfName.Filter));
+        Assert.assertArrayEquals(expectedContent, content.getBytes(false));
+        assertEquals("0 0 m 100 100 l S", new String(content.getBytes()));
+        PdfStream resultUncompressed = resultDoc.getCatalog().getPdfObject().getAsStream(new PdfName("Uncompressed"));
+        assertEquals("BT ET", new String(resultUncompressed.getBytes()));
+        resultDoc.close();
+    }
+
     @Test
     // with some PDFs, when adding content to an existing PDF in append mode, the resource dictionary didn't get written as a new version
     public void stampingInAppendModeCreatesNewResourceDictionary() throws Exception {
@@ -45,6 +45,13 @@ package com.itextpdf.kernel.pdf;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.util.DateTimeUtil;
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.events.Event;
+import com.itextpdf.kernel.events.IEventHandler;
+import com.itextpdf.kernel.events.PdfDocumentEvent;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.annot.PdfAnnotation;
+import com.itextpdf.kernel.pdf.annot.PdfTextAnnotation;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import org.junit.Assert;
@@ -53,8 +60,10 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.TreeMap;
@@ -92,6 +101,23 @@ public class PdfWriterTest extends ExtendedITextTest {
 
     }
 
+    @Test
+    public void numberPrecisionTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos, new WriterProperties()
+                .setNumberPrecision(3).setCompressionLevel(CompressionConstants.NO_COMPRESSION)));
+        new PdfCanvas(pdfDoc.addNewPage())
+                .moveTo(10.123456, 20.5)
+                .lineTo(0.0004, -300.98765)
+                .stroke();
+        pdfDoc.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        String content = new String(resultDoc.getFirstPage().getContentBytes(), StandardCharsets.ISO_8859_1);
+        Assert.assertEquals("10.123 20.5 m\n0 -300.988 l\nS\n", content);
+        resultDoc.close();
+    }
+
     @Test
     public void useObjectForMultipleTimes1() throws IOException {
         PdfDocument pdfDoc = new PdfDocument(new PdfWriter(destinationFolder + "useObjectForMultipleTimes1.pdf"));
@@ -626,4 +652,127 @@ public class PdfWriterTest extends ExtendedITextTest {
         Assert.assertArrayEquals("Stream by InputStream", streamContent.getBytes(), pdfStream.getBytes());
         document.close();
     }
+
+    @Test
+    public void parallelStreamCompression() throws IOException {
+        String filename = destinationFolder + "parallelStreamCompression.pdf";
+
+        PdfDocument document = new PdfDocument(new PdfWriter(filename,
+                new WriterProperties().useParallelStreamCompression(4)));
+        for (int i = 0; i < 20; i++) {
+            PdfPage page = document.addNewPage();
+            page.getFirstContentStream().getOutputStream().writeString("q 1 0 0 1 " + i + " 0 cm Q\n");
+            page.getPdfObject().put(new PdfName("Extra"), new PdfStream(("Stream " + i).getBytes()));
+            if (i % 2 == 0) {
+                page.flush();
+            }
+        }
+        document.close();
+
+        PdfReader reader = new PdfReader(filename);
+        document = new PdfDocument(reader);
+        Assert.assertEquals("Rebuilt", false, reader.hasRebuiltXref());
+        Assert.assertEquals("Fixed", false, reader.hasFixedXref());
+        for (int i = 0; i < 20; i++) {
+            PdfPage page = document.getPage(i + 1);
+            Assert.assertEquals(PdfName.FlateDecode, page.getFirstContentStream().get(PdfName.Filter));
+            Assert.assertArrayEquals(("q 1 0 0 1 " + i + " 0 cm Q\n").getBytes(), page.getContentBytes());
+            Assert.assertArrayEquals(("Stream " + i).getBytes(),
+                    page.getPdfObject().getAsStream(new PdfName("Extra")).getBytes());
+        }
+        document.close();
+    }
+
+    @Test
+    public void boundedObjectStreamPacking() throws IOException {
+        String filename = destinationFolder + "boundedObjectStreamPacking.pdf";
+        createDocumentWithAnnotatedPages(filename, new DefaultObjectStreamPackingStrategy(10, Long.MAX_VALUE));
+
+        PdfDocument document = new PdfDocument(new PdfReader(filename));
+        int objectStreams = 0;
+        for (int i = 1; i < document.getNumberOfPdfObjects(); i++) {
+            PdfObject object = document.getPdfObject(i);
+            if (object instanceof PdfStream && PdfName.ObjStm.equals(((PdfStream) object).getAsName(PdfName.Type))) {
+                Assert.assertTrue(((PdfStream) object).getAsNumber(PdfName.N).intValue() <= 10);
+                objectStreams++;
+            }
+        }
+        Assert.assertTrue(objectStreams > 1);
+        Assert.assertEquals(10, document.getNumberOfPages());
+        document.close();
+    }
+
+    @Test
+    public void pageAlignedObjectStreamPacking() throws IOException {
+        String alignedFilename = destinationFolder + "pageAlignedObjectStreamPacking.pdf";
+        String defaultFilename = destinationFolder + "pageAlignedObjectStreamPackingDefault.pdf";
+        createDocumentWithAnnotatedPages(alignedFilename, new PageAlignedObjectStreamPackingStrategy(20, Long.MAX_VALUE));
+        createDocumentWithAnnotatedPages(defaultFilename, new DefaultObjectStreamPackingStrategy(20, Long.MAX_VALUE));
+
+        Assert.assertEquals(0, countPagesSpreadOverObjectStreams(alignedFilename));
+        Assert.assertTrue(countPagesSpreadOverObjectStreams(defaultFilename) > 0);
+    }
+
+    @Test
+    public void pageAlignedObjectStreamPackingWithNestedPageFlush() throws IOException {
+        String filename = destinationFolder + "pageAlignedObjectStreamPackingWithNestedPageFlush.pdf";
+        PdfDocument document = new PdfDocument(new PdfWriter(filename, new WriterProperties()
+                .setFullCompressionMode(true)
+                .setObjectStreamPackingStrategy(new PageAlignedObjectStreamPackingStrategy(40, Long.MAX_VALUE))));
+        // every odd page flushes the next page when it is flushed, so the pages are flushed in pairs
+        document.addEventHandler(PdfDocumentEvent.END_PAGE, new IEventHandler() {
+            @Override
+            public void handleEvent(Event event) {
+                PdfPage page = ((PdfDocumentEvent) event).getPage();
+                int pageNumber = page.getDocument().getPageNumber(page);
+                if (pageNumber % 2 == 1) {
+                    page.getDocument().getPage(pageNumber + 1).flush();
+                }
+            }
+        });
+        for (int i = 0; i < 10; i += 2) {
+            PdfPage page = document.addNewPage();
+            PdfPage nextPage = document.addNewPage();
+            for (int j = 0; j < 6; j++) {
+                page.addAnnotation(new PdfTextAnnotation(new Rectangle(10 * j, 10 * i, 10, 10)));
+                nextPage.addAnnotation(new PdfTextAnnotation(new Rectangle(10 * j, 10 * i + 10, 10, 10)));
+            }
+            page.flush();
+        }
+        document.close();
+
+        Assert.assertEquals(0, countPagesSpreadOverObjectStreams(filename));
+    }
+
+    private static void createDocumentWithAnnotatedPages(String filename, IObjectStreamPackingStrategy strategy)
+            throws IOException {
+        PdfDocument document = new PdfDocument(new PdfWriter(filename, new WriterProperties()
+                .setFullCompressionMode(true).setObjectStreamPackingStrategy(strategy)));
+        for (int i = 0; i < 10; i++) {
+            PdfPage page = document.addNewPage();
+            for (int j = 0; j < 6; j++) {
+                page.addAnnotation(new PdfTextAnnotation(new Rectangle(10 * j, 10 * i, 10, 10)));
+            }
+            page.flush();
+        }
+        document.close();
+    }
+
+    private static int countPagesSpreadOverObjectStreams(String filename) throws IOException {
+        PdfDocument document = new PdfDocument(new PdfReader(filename));
+        int spreadPages = 0;
+        for (int i = 1; i <= document.getNumberOfPages(); i++) {
+            PdfPage page = document.getPage(i);
+            int objStreamNumber = page.getPdfObject().getIndirectReference().getObjStreamNumber();
+            Assert.assertTrue(objStreamNumber > 0);
+            for (PdfAnnotation annotation : page.getAnnotations()) {
+                if (annotation.getPdfObject().getIndirectReference().getObjStreamNumber() != objStreamNumber) {
+                    spreadPages++;
+                    break;
+                }
+            }
+        }
+        document.close();
+        return spreadPages;
+    }
 }
@@ -97,4 +97,52 @@ public class PdfXrefTableUnitTest extends ExtendedITextTest {
         Assert.assertEquals(numberOfReferences, table.getCountOfIndirectObjects());
         Assert.assertEquals(226, table.size());
     }
+
+    @Test
+    public void readEntriesAreInstantiatedOnDemandTest() {
+        PdfXrefTable table = new PdfXrefTable();
+        Assert.assertTrue(table.addReadEntry(null, 1, 0, 15, 0, false));
+        Assert.assertTrue(table.addReadEntry(null, 2, 0, 1, 3, false));
+        Assert.assertTrue(table.addReadEntry(null, 3, 0, 120, 0, false));
+        Assert.assertTrue(table.addReadEntry(null, 4, 1, 0, 0, true));
+
+        Assert.assertEquals(5, table.size());
+        Assert.assertEquals(3, table.getCountOfIndirectObjects());
+        Assert.assertNull(table.getInstantiated(2));
+
+        PdfIndirectReference compressed = table.get(2);
+        Assert.assertEquals(3, compressed.getObjStreamNumber());
+        Assert.assertEquals(1, compressed.getIndex());
+        Assert.assertEquals(0, compressed.getGenNumber());
+        Assert.assertSame(compressed, table.getInstantiated(2));
+        Assert.assertSame(compressed, table.get(2));
+
+        PdfIndirectReference free = table.get(4);
+        Assert.assertTrue(free.isFree());
+        Assert.assertEquals(1, free.getGenNumber());
+        Assert.assertEquals(15, table.get(1).getOffset());
+        Assert.assertEquals(3, table.getCountOfIndirectObjects());
+    }
+
+    @Test
+    public void readEntryOfPreviousSectionIsIgnoredTest() {
+        PdfXrefTable table = new PdfXrefTable();
+        Assert.assertTrue(table.addReadEntry(null, 1, 0, 200, 0, false));
+        Assert.assertFalse(table.addReadEntry(null, 1, 0, 15, 0, false));
+        Assert.assertFalse(table.addReadEntry(null, 1, 0, 0, 0, true));
+        Assert.assertFalse(table.get(1).isFree());
+        Assert.assertEquals(200, table.get(1).getOffset());
+    }
+
+    @Test
+    public void readEntryResolvesReadingReferenceTest() {
+        PdfXrefTable table = new PdfXrefTable();
+        PdfIndirectReference reading = table.add((PdfIndirectReference) new PdfIndirectReference(null, 7, 0, 0)
+                .setState(PdfObject.READING));
+        Assert.assertTrue(table.addReadEntry(null, 7, 0, 4, 5, false));
+        Assert.assertSame(reading, table.get(7));
+        Assert.assertFalse(reading.checkState(PdfObject.READING));
+        Assert.assertEquals(5, reading.getObjStreamNumber());
+        Assert.assertEquals(4, reading.getIndex());
+    }
 }
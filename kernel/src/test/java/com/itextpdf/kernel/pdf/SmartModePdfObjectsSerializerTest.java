@@ -26,7 +26,10 @@ import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -35,7 +38,7 @@ import org.junit.experimental.categories.Category;
 public class SmartModePdfObjectsSerializerTest extends ExtendedITextTest {
 
     @Test
-    public void smartModeObjectSelfReferencingTest() {
+    public void smartModeObjectSelfReferencingTest() throws IOException, NoSuchAlgorithmException {
         PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
 
         PdfDictionary dict1 = new PdfDictionary();
@@ -56,16 +59,66 @@ public class SmartModePdfObjectsSerializerTest extends ExtendedITextTest {
         SerializedObjectContent serializedObject = serializer.serializeObject(dict1);
 
         //It is essential to serialize object with huge amount of memory
-        StringBuilder stringBytes = new StringBuilder().append("$D$N/FirstDict$A$S");
-        String end = "$D$\\D$\\A$\\D";
+        StringBuilder arrayBytes = new StringBuilder().append("$A$S");
         for (int i = 0; i < 10000; i++) {
-            stringBytes.append("\0");
+            arrayBytes.append("\0");
         }
-        stringBytes.append(end);
+        arrayBytes.append("$D$\\D$\\A");
+        byte[] arraySerialization = arrayBytes.toString().getBytes(StandardCharsets.UTF_8);
 
-        SerializedObjectContent expected = new SerializedObjectContent(
-                stringBytes.toString().getBytes(StandardCharsets.UTF_8));
+        // indirect objects are represented by the digest of their serialized content
+        ByteArrayOutputStream expectedBytes = new ByteArrayOutputStream();
+        expectedBytes.write("$D$N/FirstDict$R".getBytes(StandardCharsets.UTF_8));
+        expectedBytes.write(MessageDigest.getInstance("MD5").digest(arraySerialization));
+        expectedBytes.write("$\\D".getBytes(StandardCharsets.UTF_8));
+        byte[] dictSerialization = expectedBytes.toByteArray();
+
+        SerializedObjectContent expected = new SerializedObjectContent(dictSerialization,
+                MessageDigest.getInstance("MD5").digest(dictSerialization));
 
         Assert.assertEquals(expected, serializedObject);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void sharedObjectIsSerializedOnceTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+
+        PdfStream sharedStream = new PdfStream(new byte[] {1, 2, 3});
+        sharedStream.makeIndirect(document);
+
+        PdfDictionary dict1 = new PdfDictionary();
+        dict1.makeIndirect(document);
+        dict1.put(PdfName.XObject, sharedStream.getIndirectReference());
+        PdfDictionary dict2 = new PdfDictionary();
+        dict2.makeIndirect(document);
+        dict2.put(PdfName.XObject, sharedStream.getIndirectReference());
+
+        SmartModePdfObjectsSerializer serializer = new SmartModePdfObjectsSerializer();
+        SerializedObjectContent serializedDict1 = serializer.serializeObject(dict1);
+        SerializedObjectContent serializedDict2 = serializer.serializeObject(dict2);
+
+        Assert.assertEquals(serializedDict1, serializedDict2);
+        Assert.assertSame(document.serializedObjectsCache.get(sharedStream.getIndirectReference()),
+                serializer.serializeObject(sharedStream));
+    }
+
+    @Test
+    public void streamsWithDifferentContentAreNotEqualTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+
+        PdfStream stream1 = new PdfStream(new byte[] {1, 2, 3});
+        stream1.makeIndirect(document);
+        PdfStream stream2 = new PdfStream(new byte[] {1, 2, 4});
+        stream2.makeIndirect(document);
+        PdfDictionary dict1 = new PdfDictionary();
+        dict1.makeIndirect(document);
+        dict1.put(PdfName.XObject, stream1.getIndirectReference());
+        PdfDictionary dict2 = new PdfDictionary();
+        dict2.makeIndirect(document);
+        dict2.put(PdfName.XObject, stream2.getIndirectReference());
+
+        SmartModePdfObjectsSerializer serializer = new SmartModePdfObjectsSerializer();
+        Assert.assertNotEquals(serializer.serializeObject(stream1), serializer.serializeObject(stream2));
+        Assert.assertNotEquals(serializer.serializeObject(dict1), serializer.serializeObject(dict2));
+    }
+}
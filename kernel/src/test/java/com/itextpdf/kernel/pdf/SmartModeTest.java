@@ -42,6 +42,7 @@
  */
 package com.itextpdf.kernel.pdf;
 
+import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
@@ -51,6 +52,7 @@ import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -452,6 +454,66 @@ public class SmartModeTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void digestSmartModeCopyingInPdfSamePagesDifferentXObjectsTest() throws IOException {
+        String srcFile = sourceFolder + "identicalPagesDifferentXObjects.pdf";
+        String dstFile = destinationFolder + "digestSmartModeCopyingInPdfSamePagesDifferentXObjects.pdf";
+
+        try (PdfDocument pdfDest = new PdfDocument(new PdfWriter(dstFile,
+                new WriterProperties().useDigestSmartMode()))) {
+
+            try (PdfDocument pdfSrc = new PdfDocument(new PdfReader(srcFile))) {
+                pdfSrc.copyPagesTo(1, pdfSrc.getNumberOfPages(), pdfDest);
+            }
+
+            PdfIndirectReference expectedImgRes = pdfDest.getPage(1).getPdfObject()
+                    .getAsDictionary(PdfName.Resources)
+                    .getAsDictionary(PdfName.XObject)
+                    .getAsStream(new PdfName("Im1")).getIndirectReference();
+
+            for (int i = 2; i <= 99; i++) {
+                PdfIndirectReference pagesImgRes = pdfDest.getPage(i).getPdfObject()
+                        .getAsDictionary(PdfName.Resources)
+                        .getAsDictionary(PdfName.XObject)
+                        .getAsStream(new PdfName("Im1")).getIndirectReference();
+
+                Assert.assertEquals(expectedImgRes, pagesImgRes);
+            }
+        }
+    }
+
+    @Test
+    public void smartModeIndexCapacityTest() throws IOException {
+        ByteArrayOutputStream srcBaos = new ByteArrayOutputStream();
+        try (PdfDocument pdfSrc = new PdfDocument(new PdfWriter(srcBaos))) {
+            String[] contents = {"0 0 m 10 10 l S", "0 0 m 20 20 l S", "0 0 m 10 10 l S"};
+            for (String content : contents) {
+                pdfSrc.addNewPage().getFirstContentStream().getOutputStream().writeBytes(content.getBytes());
+            }
+        }
+
+        for (int capacity : new int[] {0, 1}) {
+            ByteArrayOutputStream dstBaos = new ByteArrayOutputStream();
+            try (PdfDocument pdfDest = new PdfDocument(new PdfWriter(dstBaos,
+                    new WriterProperties().useDigestSmartMode().setSmartModeIndexCapacity(capacity)))) {
+
+                try (PdfDocument pdfSrc = new PdfDocument(
+                        new PdfReader(new ByteArrayInputStream(srcBaos.toByteArray())))) {
+                    pdfSrc.copyPagesTo(1, pdfSrc.getNumberOfPages(), pdfDest);
+                }
+
+                PdfIndirectReference firstContent = pdfDest.getPage(1).getFirstContentStream().getIndirectReference();
+                PdfIndirectReference thirdContent = pdfDest.getPage(3).getFirstContentStream().getIndirectReference();
+                if (capacity == 0) {
+                    Assert.assertEquals(firstContent, thirdContent);
+                } else {
+                    // the first content stream is forgotten when the second one is copied
+                    Assert.assertNotEquals(firstContent, thirdContent);
+                }
+            }
+        }
+    }
+
     @Test
     public void smartCopyingOfArrayWithStringsTest() throws IOException {
         String srcFile = sourceFolder + "keyValueStructure.pdf";
@@ -79,6 +79,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Random;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
@@ -1558,4 +1559,34 @@ public class PdfCanvasTest extends ExtendedITextTest {
         newPathCanvas.newPath();
         Assert.assertArrayEquals(boasNewPath.toByteArray(), boasEndPath.toByteArray());
     }
+
+    @Test
+    public void batchedPathConstructionTest() {
+        Random rnd = new Random(42);
+        double[] coordinates = new double[20002];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = (rnd.nextDouble() - 0.3) * 1000;
+        }
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfCanvas expectedCanvas = new PdfCanvas(pdfDoc.addNewPage());
+        expectedCanvas.moveTo(coordinates[0], coordinates[1]);
+        for (int i = 2; i < coordinates.length; i += 2) {
+            expectedCanvas.lineTo(coordinates[i], coordinates[i + 1]);
+        }
+        for (int i = 2; i + 6 <= coordinates.length; i += 6) {
+            expectedCanvas.curveTo(coordinates[i], coordinates[i + 1], coordinates[i + 2], coordinates[i + 3],
+                    coordinates[i + 4], coordinates[i + 5]);
+        }
+        expectedCanvas.stroke();
+
+        PdfCanvas actualCanvas = new PdfCanvas(pdfDoc.addNewPage());
+        actualCanvas
+                .polyline(coordinates)
+                .curvesTo(coordinates, 2, (coordinates.length - 2) / 6)
+                .stroke();
+
+        Assert.assertArrayEquals(expectedCanvas.getContentStream().getBytes(), actualCanvas.getContentStream().getBytes());
+        pdfDoc.close();
+    }
 }
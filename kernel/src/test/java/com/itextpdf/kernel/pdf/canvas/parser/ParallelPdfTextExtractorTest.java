@@ -0,0 +1,215 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Category(IntegrationTest.class)
+public class ParallelPdfTextExtractorTest extends ExtendedITextTest {
+
+    private static final String destinationFolder = "./target/test/com/itextpdf/kernel/parser/ParallelPdfTextExtractorTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void extractTextInPageOrderTest() throws IOException {
+        String fileName = destinationFolder + "extractTextInPageOrder.pdf";
+        int numberOfPages = 40;
+        createDocument(fileName, numberOfPages);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        IRandomAccessSource source = new RandomAccessSourceFactory().setUseConcurrentAccess(true)
+                .createBestSource(fileName);
+        try {
+            ParallelPdfTextExtractor extractor = new ParallelPdfTextExtractor(source, new ReaderProperties(), executor, 4);
+            Assert.assertEquals(numberOfPages, extractor.getNumberOfPages());
+
+            List<String> texts = extractor.getTextFromPages(new ParallelPdfTextExtractor.IStrategyFactory() {
+                @Override
+                public ITextExtractionStrategy createStrategy(int pageNumber) {
+                    return new LocationTextExtractionStrategy();
+                }
+            });
+
+            Assert.assertEquals(numberOfPages, texts.size());
+            try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(fileName))) {
+                for (int i = 1; i <= numberOfPages; i++) {
+                    Assert.assertEquals("Page " + i, texts.get(i - 1));
+                    Assert.assertEquals(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i)), texts.get(i - 1));
+                }
+            }
+
+            List<String> range = extractor.getTextFromPages(11, 13, new ParallelPdfTextExtractor.IStrategyFactory() {
+                @Override
+                public ITextExtractionStrategy createStrategy(int pageNumber) {
+                    return new LocationTextExtractionStrategy();
+                }
+            });
+            Assert.assertEquals(3, range.size());
+            Assert.assertEquals("Page 11", range.get(0));
+            Assert.assertEquals("Page 13", range.get(2));
+        } finally {
+            executor.shutdown();
+            source.close();
+        }
+    }
+
+    @Test
+    public void strategyFailureTest() throws IOException {
+        String fileName = destinationFolder + "strategyFailure.pdf";
+        createDocument(fileName, 10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        IRandomAccessSource source = new RandomAccessSourceFactory().setUseConcurrentAccess(true)
+                .createBestSource(fileName);
+        try {
+            ParallelPdfTextExtractor extractor = new ParallelPdfTextExtractor(source, new ReaderProperties(), executor, 2);
+            extractor.getTextFromPages(new ParallelPdfTextExtractor.IStrategyFactory() {
+                @Override
+                public ITextExtractionStrategy createStrategy(int pageNumber) {
+                    if (pageNumber == 5) {
+                        throw new IllegalStateException("Page 5");
+                    }
+                    return new LocationTextExtractionStrategy();
+                }
+            });
+            Assert.fail("Exception is expected");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Page 5", e.getMessage());
+        } finally {
+            executor.shutdown();
+            source.close();
+        }
+    }
+
+    @Test
+    public void noStrategyIsUsedAfterFailureTest() throws IOException, InterruptedException {
+        String fileName = destinationFolder + "noStrategyIsUsedAfterFailure.pdf";
+        createDocument(fileName, 2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        IRandomAccessSource source = new RandomAccessSourceFactory().setUseConcurrentAccess(true)
+                .createBestSource(fileName);
+        final CountDownLatch slowStrategyStarted = new CountDownLatch(1);
+        final AtomicBoolean extractionFinished = new AtomicBoolean(false);
+        final AtomicInteger callsAfterFailure = new AtomicInteger();
+        try {
+            ParallelPdfTextExtractor extractor = new ParallelPdfTextExtractor(source, new ReaderProperties(), executor, 2);
+            extractor.getTextFromPages(new ParallelPdfTextExtractor.IStrategyFactory() {
+                @Override
+                public ITextExtractionStrategy createStrategy(int pageNumber) {
+                    try {
+                        if (pageNumber == 1) {
+                            slowStrategyStarted.await(5, TimeUnit.SECONDS);
+                            throw new IllegalStateException("Page 1");
+                        }
+                        slowStrategyStarted.countDown();
+                        Thread.sleep(500);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new LocationTextExtractionStrategy() {
+                        @Override
+                        public String getResultantText() {
+                            if (extractionFinished.get()) {
+                                callsAfterFailure.incrementAndGet();
+                            }
+                            return super.getResultantText();
+                        }
+                    };
+                }
+            });
+            Assert.fail("Exception is expected");
+        } catch (IllegalStateException e) {
+            extractionFinished.set(true);
+            Assert.assertEquals("Page 1", e.getMessage());
+        } finally {
+            // give the workers which could still be running a chance to use their strategies
+            Thread.sleep(1000);
+            executor.shutdown();
+            source.close();
+        }
+        Assert.assertEquals(0, callsAfterFailure.get());
+    }
+
+    private static void createDocument(String fileName, int numberOfPages) throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(fileName))) {
+            for (int i = 1; i <= numberOfPages; i++) {
+                new PdfCanvas(pdfDocument.addNewPage())
+                        .beginText()
+                        .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                        .moveText(36, 700)
+                        .showText("Page " + i)
+                        .endText();
+            }
+        }
+    }
+}
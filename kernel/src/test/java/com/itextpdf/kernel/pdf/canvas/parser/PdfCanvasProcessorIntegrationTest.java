@@ -43,14 +43,19 @@
 package com.itextpdf.kernel.pdf.canvas.parser;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.kernel.KernelLogMessageConstant;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ClippingPathInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
@@ -60,11 +65,13 @@ import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
 import com.itextpdf.kernel.pdf.colorspace.PdfSpecialCs;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -90,6 +97,113 @@ public class PdfCanvasProcessorIntegrationTest extends ExtendedITextTest {
     @Rule
     public ExpectedException junitExpectedException = ExpectedException.none();
 
+    @Test
+    public void formXObjectIsParsedOnceWithCacheTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfFormXObject header = new PdfFormXObject(new Rectangle(500, 50));
+        new PdfCanvas(header, pdfDocument)
+                .beginText()
+                .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                .moveText(10, 20)
+                .showText("Statement header")
+                .endText()
+                .rectangle(0, 0, 500, 50)
+                .stroke();
+        for (int i = 0; i < 5; i++) {
+            new PdfCanvas(pdfDocument.addNewPage())
+                    .addXObject(header, 36, 750 - i * 10)
+                    .addXObject(header, 36, 36);
+        }
+        pdfDocument.close();
+
+        PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        ParsedContentStreamCache cache = new ParsedContentStreamCache();
+        for (int i = 1; i <= document.getNumberOfPages(); ++i) {
+            StringBuilder expectedLog = new StringBuilder();
+            new PdfCanvasProcessor(new RecordEveryHighLevelEventListener(expectedLog))
+                    .processPageContent(document.getPage(i));
+
+            StringBuilder actualLog = new StringBuilder();
+            PdfCanvasProcessor processor = new PdfCanvasProcessor(new RecordEveryHighLevelEventListener(actualLog));
+            processor.setParsedContentStreamCache(cache);
+            processor.processPageContent(document.getPage(i));
+
+            Assert.assertEquals(expectedLog.toString(), actualLog.toString());
+            Assert.assertEquals(1, cache.size());
+        }
+
+        ParsedContentStreamCache emptyCache = new ParsedContentStreamCache(0);
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new LocationTextExtractionStrategy());
+        processor.setParsedContentStreamCache(emptyCache);
+        processor.processPageContent(document.getFirstPage());
+        Assert.assertEquals(0, emptyCache.size());
+
+        PdfDocumentContentParser parser = new PdfDocumentContentParser(document);
+        ParsedContentStreamCache parserCache = new ParsedContentStreamCache();
+        parser.setParsedContentStreamCache(parserCache);
+        for (int i = 1; i <= document.getNumberOfPages(); ++i) {
+            Assert.assertEquals(PdfTextExtractor.getTextFromPage(document.getPage(i)),
+                    parser.processContent(i, new LocationTextExtractionStrategy()).getResultantText());
+        }
+        Assert.assertEquals(1, parserCache.size());
+        document.close();
+    }
+
+    @Test
+    public void fontsAreDecodedOnceWithDocumentFontCacheTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfFont helvetica = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        PdfFont courier = PdfFontFactory.createFont(StandardFonts.COURIER);
+        for (int i = 0; i < 3; i++) {
+            new PdfCanvas(pdfDocument.addNewPage())
+                    .beginText()
+                    .setFontAndSize(helvetica, 12).moveText(36, 750).showText("Page " + i)
+                    .setFontAndSize(courier, 12).moveText(0, -20).showText("Body " + i)
+                    .endText();
+        }
+        pdfDocument.close();
+
+        PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        DocumentFontCache cache = new DocumentFontCache(document);
+        final List<PdfFont> fonts = new ArrayList<>();
+        IEventListener fontsListener = new IEventListener() {
+            @Override
+            public void eventOccurred(IEventData data, EventType type) {
+                if (type == EventType.RENDER_TEXT) {
+                    fonts.add(((TextRenderInfo) data).getFont());
+                }
+            }
+
+            @Override
+            public Set<EventType> getSupportedEvents() {
+                return null;
+            }
+        };
+        for (int i = 1; i <= document.getNumberOfPages(); ++i) {
+            PdfCanvasProcessor processor = new PdfCanvasProcessor(fontsListener);
+            processor.setDocumentFontCache(cache);
+            processor.processPageContent(document.getPage(i));
+            Assert.assertEquals(2, cache.size());
+        }
+        Assert.assertEquals(6, fonts.size());
+        for (int i = 2; i < fonts.size(); i++) {
+            Assert.assertSame(fonts.get(i - 2), fonts.get(i));
+        }
+
+        PdfDocumentContentParser parser = new PdfDocumentContentParser(document);
+        DocumentFontCache parserCache = new DocumentFontCache(document);
+        parser.setDocumentFontCache(parserCache);
+        for (int i = 1; i <= document.getNumberOfPages(); ++i) {
+            String expected = PdfTextExtractor.getTextFromPage(document.getPage(i));
+            Assert.assertEquals(expected, parser.processContent(i, new LocationTextExtractionStrategy())
+                    .getResultantText());
+        }
+        Assert.assertEquals(2, parserCache.size());
+        document.close();
+    }
+
     @Test
     public void contentStreamProcessorTest() throws IOException {
         PdfDocument document = new PdfDocument(new PdfReader(sourceFolder + "tableWithImageAndText.pdf"), new PdfWriter(new ByteArrayOutputStream()));
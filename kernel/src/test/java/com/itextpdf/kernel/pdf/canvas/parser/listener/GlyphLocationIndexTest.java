@@ -0,0 +1,148 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.kernel.pdf.canvas.parser.filter.TextRegionEventFilter;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Category(IntegrationTest.class)
+public class GlyphLocationIndexTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/parser/";
+
+    @Test
+    public void regionQueriesMatchBruteForceTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createWordsGrid())));
+        GlyphLocationIndex index = new GlyphLocationIndex();
+        new PdfCanvasProcessor(index).processPageContent(pdfDocument.getFirstPage());
+        Assert.assertEquals(20 * 10 * 5, index.size());
+
+        List<CharacterRenderInfo> allGlyphs = index.getCharacters(null);
+        Rectangle[] regions = {new Rectangle(36, 700, 100, 50), new Rectangle(0, 0, 600, 850),
+                new Rectangle(250, 100, 1, 500), new Rectangle(-100, -100, 10, 10),
+                new Rectangle(120, 790, 300, 0)};
+        for (Rectangle region : regions) {
+            List<CharacterRenderInfo> expected = new ArrayList<>();
+            for (CharacterRenderInfo glyph : allGlyphs) {
+                if (region.intersectsLine(glyph.getLocation().getStartLocation().get(0),
+                        glyph.getLocation().getStartLocation().get(1),
+                        glyph.getLocation().getEndLocation().get(0),
+                        glyph.getLocation().getEndLocation().get(1))) {
+                    expected.add(glyph);
+                }
+            }
+            Assert.assertEquals(region.toString(), expected, index.getCharacters(region));
+        }
+        pdfDocument.close();
+    }
+
+    @Test
+    public void sameTextAsRegionFilterTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createWordsGrid())));
+        GlyphLocationIndex index = new GlyphLocationIndex();
+        new PdfCanvasProcessor(index).processPageContent(pdfDocument.getFirstPage());
+
+        // regions which cover whole words, so that per-glyph and per-chunk filtering select the same text
+        Rectangle[] regions = {new Rectangle(36, 795, 50, 10), new Rectangle(36, 600, 500, 60),
+                new Rectangle(85, 500, 90, 100)};
+        for (Rectangle region : regions) {
+            String expected = PdfTextExtractor.getTextFromPage(pdfDocument.getFirstPage(),
+                    new FilteredTextEventListener(new LocationTextExtractionStrategy(),
+                            new TextRegionEventFilter(region)));
+            Assert.assertEquals(region.toString(), expected, index.getText(region));
+        }
+        Assert.assertEquals("w0_0x", index.getText(new Rectangle(36, 795, 50, 10)));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void rotatedTextTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(
+                sourceFolder + "RegexBasedLocationExtractionStrategyTest/rotatedText.pdf"));
+        GlyphLocationIndex index = new GlyphLocationIndex();
+        new PdfCanvasProcessor(index).processPageContent(pdfDocument.getFirstPage());
+        Rectangle pageSize = pdfDocument.getFirstPage().getPageSize();
+        Assert.assertEquals(CharacterRenderInfo.mapString(index.getCharacters(null)).text,
+                index.getText(pageSize));
+        pdfDocument.close();
+    }
+
+    private static byte[] createWordsGrid() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont(StandardFonts.COURIER);
+        PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+        for (int row = 0; row < 20; row++) {
+            for (int column = 0; column < 10; column++) {
+                String word = "w" + row + "_" + column;
+                while (word.length() < 5) {
+                    word += "x";
+                }
+                canvas.beginText().setFontAndSize(font, 10)
+                        .moveText(36 + column * 52, 800 - row * 36).showText(word).endText();
+            }
+        }
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+
+@Category(IntegrationTest.class)
+public class StreamingTextExtractionStrategyTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/parser/";
+
+    @Test
+    public void sameTextAsLocationStrategyTest() throws IOException {
+        String[] fileNames = {"RegexBasedLocationExtractionStrategyTest/in01.pdf",
+                "RegexBasedLocationExtractionStrategyTest/rotatedText.pdf",
+                "TextRenderInfoTest/simple_text.pdf",
+                "PdfTextExtractorTest/diacriticShiftedLessThanTwo.pdf"};
+        for (String fileName : fileNames) {
+            PdfDocument pdfDocument = new PdfDocument(new PdfReader(sourceFolder + fileName));
+            for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+                String expected = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i),
+                        new LocationTextExtractionStrategy());
+                String actual = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i),
+                        new StreamingTextExtractionStrategy());
+                Assert.assertEquals(fileName, expected, actual);
+            }
+            pdfDocument.close();
+        }
+    }
+
+    @Test
+    public void streamLinesToWriterTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+        for (int i = 0; i < 50; i++) {
+            canvas.beginText().setFontAndSize(font, 10)
+                    .moveText(100, 800 - i * 12).showText("line " + i).endText()
+                    .beginText().setFontAndSize(font, 10)
+                    .moveText(36, 800 - i * 12).showText("Start of").endText();
+        }
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        String expected = PdfTextExtractor.getTextFromPage(pdfDocument.getFirstPage(),
+                new LocationTextExtractionStrategy());
+
+        StringWriter writer = new StringWriter();
+        StreamingTextExtractionStrategy strategy = new StreamingTextExtractionStrategy(writer, 1);
+        Assert.assertEquals("", PdfTextExtractor.getTextFromPage(pdfDocument.getFirstPage(), strategy));
+        Assert.assertEquals(expected, writer.toString());
+        Assert.assertTrue(expected.startsWith("Start of line 0\nStart of line 1\n"));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void lateChunkIsWrittenAsNewLineTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        new PdfCanvas(pdfDocument.addNewPage())
+                .beginText().setFontAndSize(font, 10)
+                .moveText(36, 700).showText("first")
+                .moveText(0, -20).showText("second")
+                .moveText(0, -20).showText("third")
+                .moveText(100, 40).showText("late")
+                .endText();
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        StringWriter writer = new StringWriter();
+        PdfTextExtractor.getTextFromPage(pdfDocument.getFirstPage(), new StreamingTextExtractionStrategy(writer, 1));
+        Assert.assertEquals("first\nsecond\nlate\nthird", writer.toString());
+        Assert.assertEquals("first late\nsecond\nthird", PdfTextExtractor.getTextFromPage(pdfDocument.getFirstPage(),
+                new StreamingTextExtractionStrategy()));
+        pdfDocument.close();
+    }
+}
@@ -22,12 +22,14 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser.util;
 
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfLiteral;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfReader;
@@ -79,4 +81,37 @@ public class PdfCanvasParserTest extends ExtendedITextTest {
         Assert.assertTrue(new CompareTool().compareArrays(cmpArray,
                 (((PdfDictionary) actual.get(1)).getAsArray(new PdfName("ColorantsDef")))));
     }
+
+    @Test
+    public void internedOperatorsTest() throws IOException {
+        byte[] content = ByteUtils.getIsoBytes("q 1 0 0 1 10 20 cm BT 12 TL (a) Tj T* (b) Tj T* (c) Tj ET Q");
+
+        List<PdfObject> notInterned = parseAll(content, false);
+        List<PdfObject> interned = parseAll(content, true);
+
+        Assert.assertEquals(notInterned, interned);
+        PdfLiteral tj = null;
+        for (PdfObject obj : interned) {
+            if (obj instanceof PdfLiteral && "Tj".equals(obj.toString())) {
+                if (tj == null) {
+                    tj = (PdfLiteral) obj;
+                } else {
+                    Assert.assertSame(tj, obj);
+                }
+            }
+        }
+        Assert.assertNotNull(tj);
+    }
+
+    private static List<PdfObject> parseAll(byte[] content, boolean internOperators) throws IOException {
+        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(content)));
+        PdfCanvasParser ps = new PdfCanvasParser(tokeniser);
+        ps.setInternOperators(internOperators);
+        List<PdfObject> result = new ArrayList<>();
+        List<PdfObject> operands = new ArrayList<>();
+        while (ps.parse(operands).size() > 0) {
+            result.addAll(operands);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,182 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.utils;
+
+import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Category(IntegrationTest.class)
+public class ParallelPdfSplitterTest extends ExtendedITextTest {
+
+    public static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/utils/PdfSplitterTest/";
+    public static final String destinationFolder = "./target/test/com/itextpdf/kernel/utils/ParallelPdfSplitterTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = LogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, count = 3)
+    })
+    public void splitByPageCountTest() throws IOException, InterruptedException {
+        IRandomAccessSource source = new RandomAccessSourceFactory().setUseConcurrentAccess(true)
+                .createBestSource(sourceFolder + "iphone_user_guide.pdf");
+        final ConcurrentMap<Integer, Boolean> readyRanges = new ConcurrentHashMap<>();
+
+        ParallelPdfSplitter splitter = new ParallelPdfSplitter(source, new ReaderProperties(), 3) {
+            @Override
+            protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                try {
+                    int partNumber = (documentPageRange.getQualifyingPageNums(130).get(0) - 1) / 60 + 1;
+                    return new PdfWriter(destinationFolder + "splitByPageCount_" + partNumber + ".pdf");
+                } catch (FileNotFoundException e) {
+                    throw new RuntimeException();
+                }
+            }
+        };
+        Assert.assertEquals(130, splitter.getNumberOfPages());
+        splitter.splitByPageCount(60, new PdfSplitter.IDocumentReadyListener() {
+            @Override
+            public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                if (new PageRange("61-120").equals(pageRange)) {
+                    pdfDocument.getDocumentInfo().setAuthor("Modified Author");
+                }
+                readyRanges.put(pageRange.getQualifyingPageNums(130).get(0), Boolean.TRUE);
+                pdfDocument.close();
+            }
+        });
+        source.close();
+
+        Assert.assertEquals(3, readyRanges.size());
+        for (int i = 1; i <= 3; i++) {
+            Assert.assertNull(new CompareTool().compareByContent(destinationFolder + "splitByPageCount_" + i + ".pdf",
+                    sourceFolder + "cmp/" + "cmp_splitDocument2_" + i + ".pdf", destinationFolder, "diff_"));
+        }
+    }
+
+    @Test
+    public void extractPageRangesFailureTest() throws IOException {
+        IRandomAccessSource source = new RandomAccessSourceFactory().setUseConcurrentAccess(true)
+                .createBestSource(sourceFolder + "splitBySize.pdf");
+        ParallelPdfSplitter splitter = new ParallelPdfSplitter(source, new ReaderProperties(), 2);
+        try {
+            splitter.extractPageRanges(Arrays.asList(new PageRange("1"), new PageRange("2")),
+                    new PdfSplitter.IDocumentReadyListener() {
+                        @Override
+                        public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                            throw new IllegalStateException("Listener failure");
+                        }
+                    });
+            Assert.fail("Exception is expected");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Listener failure", e.getMessage());
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void noListenerIsCalledAfterFailureTest() throws IOException, InterruptedException {
+        IRandomAccessSource source = new RandomAccessSourceFactory().setUseConcurrentAccess(true)
+                .createBestSource(sourceFolder + "splitBySize.pdf");
+        ParallelPdfSplitter splitter = new ParallelPdfSplitter(source, new ReaderProperties(), 2);
+        final CountDownLatch slowListenerStarted = new CountDownLatch(1);
+        final AtomicBoolean extractionFinished = new AtomicBoolean(false);
+        final AtomicInteger callsAfterFailure = new AtomicInteger();
+        try {
+            splitter.extractPageRanges(Arrays.asList(new PageRange("1"), new PageRange("2")),
+                    new PdfSplitter.IDocumentReadyListener() {
+                        @Override
+                        public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                            try {
+                                if (new PageRange("1").equals(pageRange)) {
+                                    slowListenerStarted.await(5, TimeUnit.SECONDS);
+                                    throw new IllegalStateException("Listener failure");
+                                }
+                                slowListenerStarted.countDown();
+                                Thread.sleep(500);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            if (extractionFinished.get()) {
+                                callsAfterFailure.incrementAndGet();
+                            }
+                            pdfDocument.close();
+                        }
+                    });
+            Assert.fail("Exception is expected");
+        } catch (IllegalStateException e) {
+            extractionFinished.set(true);
+            Assert.assertEquals("Listener failure", e.getMessage());
+        } finally {
+            source.close();
+        }
+        // give the workers which could still be running a chance to call the listener
+        Thread.sleep(1000);
+        Assert.assertEquals(0, callsAfterFailure.get());
+    }
+}
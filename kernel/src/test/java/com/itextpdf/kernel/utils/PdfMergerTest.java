@@ -56,6 +56,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import javax.xml.parsers.ParserConfigurationException;
 import org.junit.Assert;
@@ -400,6 +401,46 @@ public class PdfMergerTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outPdf, cmpPdf, destinationFolder));
     }
 
+    @Test
+    public void mergeDocumentsInStreamingModeTest() throws IOException, InterruptedException {
+        String resultFile = destinationFolder + "mergeDocumentsInStreamingModeTest.pdf";
+        String[] sources = {"courierTest.pdf", "helveticaTest.pdf", "timesRomanTest.pdf"};
+
+        PdfDocument resultDoc = new PdfDocument(new PdfWriter(resultFile));
+        PdfMerger merger = new PdfMerger(resultDoc).setCloseSourceDocuments(true).setStreamingMode(true);
+        for (String source : sources) {
+            merger.merge(new PdfDocument(new PdfReader(sourceFolder + source)), 1, 1);
+            Assert.assertTrue(resultDoc.getPage(resultDoc.getNumberOfPages()).isFlushed());
+        }
+        merger.close();
+
+        Assert.assertNull(new CompareTool().compareByContent(resultFile, sourceFolder + "cmp_mergedResult01.pdf",
+                destinationFolder, "diff_"));
+    }
+
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = LogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY),
+            @LogMessage(messageTemplate = LogMessageConstant.CREATED_ROOT_TAG_HAS_MAPPING, count = 2)
+    })
+    public void mergeTaggedDocumentsInStreamingModeTest() throws IOException, ParserConfigurationException, SAXException {
+        String resultFile = destinationFolder + "mergeTaggedDocumentsInStreamingModeTest.pdf";
+
+        PdfDocument resultDoc = new PdfDocument(new PdfWriter(resultFile));
+        resultDoc.setTagged();
+        PdfMerger merger = new PdfMerger(resultDoc).setCloseSourceDocuments(true).setStreamingMode(true);
+        merger.merge(new PdfDocument(new PdfReader(sourceFolder + "pdf_open_parameters.pdf")), Arrays.asList(3, 2, 1));
+        merger.merge(new PdfDocument(new PdfReader(sourceFolder + "iphone_user_guide.pdf")), Arrays.asList(5, 9, 4, 3));
+        for (int i = 1; i <= resultDoc.getNumberOfPages(); i++) {
+            Assert.assertTrue(resultDoc.getPage(i).isFlushed());
+        }
+        merger.close();
+
+        // Numbering of the struct parents differs from the one of the regular mode,
+        // as pages are flushed one by one, so only tag structure is compared
+        Assert.assertNull(new CompareTool().compareTagStructures(resultFile, sourceFolder + "cmp_mergedResult04.pdf"));
+    }
+
     private void mergePdfs(List<File> sources, String destination) throws IOException {
         PdfDocument mergedDoc = new PdfDocument(new PdfWriter(destination));
         PdfMerger merger = new PdfMerger(mergedDoc);
@@ -55,6 +55,10 @@ import com.itextpdf.layout.property.Property;
 import com.itextpdf.layout.renderer.DocumentRenderer;
 import com.itextpdf.layout.renderer.IRenderer;
 import com.itextpdf.layout.renderer.RootRenderer;
+import com.itextpdf.layout.renderer.RootRendererLayoutState;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Document is the default root element when creating a self-sufficient PDF. It
@@ -89,6 +93,10 @@ public class Document extends RootElement<Document> {
     @Deprecated
     protected float bottomMargin = 36;
 
+    private boolean layoutStatesStoring = false;
+
+    private List<RootRendererLayoutState> childElementsLayoutStates = new ArrayList<>();
+
     /**
      * Creates a document from a {@link PdfDocument}. Initializes the first page
      * with the {@link PdfDocument}'s current default {@link PageSize}.
@@ -147,6 +155,7 @@ public class Document extends RootElement<Document> {
     public Document add(AreaBreak areaBreak) {
         checkClosingStatus();
         childElements.add(areaBreak);
+        storeLayoutState();
         ensureRootRendererNotNull().addChild(areaBreak.createRendererSubTree());
         if (immediateFlush) {
             childElements.remove(childElements.size() - 1);
@@ -182,6 +191,7 @@ public class Document extends RootElement<Document> {
      */
     public void setRenderer(DocumentRenderer documentRenderer) {
         this.rootRenderer = documentRenderer;
+        childElementsLayoutStates.clear();
     }
 
     /**
@@ -190,6 +200,7 @@ public class Document extends RootElement<Document> {
      */
     public void flush() {
         rootRenderer.flush();
+        childElementsLayoutStates.clear();
     }
 
     /**
@@ -214,11 +225,74 @@ public class Document extends RootElement<Document> {
         }
 
         rootRenderer = (RootRenderer) nextRelayoutRenderer;
+        childElementsLayoutStates.clear();
         for (IElement element : childElements) {
             createAndAddRendererSubTree(element);
         }
     }
 
+    /**
+     * Enables or disables storing of the layout state before each child element is laid out. The stored states
+     * allow {@link #relayout(IElement)} to reuse the layout of the child elements preceding the changed one.
+     * Storing is disabled by default, as a copy of the current area and of the float areas is made for every
+     * added element. The elements added before the storing has been enabled don't have any layout state stored
+     * until the next entire recalculation with {@link #relayout()}.
+     *
+     * @param layoutStatesStoring true to store the layout states of the child elements, false otherwise
+     */
+    public void setLayoutStatesStoring(boolean layoutStatesStoring) {
+        this.layoutStatesStoring = layoutStatesStoring;
+        childElementsLayoutStates.clear();
+        if (layoutStatesStoring) {
+            for (int i = 0; i < childElements.size(); i++) {
+                childElementsLayoutStates.add(null);
+            }
+        }
+    }
+
+    /**
+     * Recalculates the document flow starting from the given child element, reusing the layout of all the
+     * child elements added before it. Use it when only the given element and the elements following it
+     * have changed since they were laid out, e.g. when a page counter at the end of the document has been updated.
+     * The layout states are only available if {@link #setLayoutStatesStoring(boolean) storing} of them has been
+     * enabled before the elements were added. If the layout state preceding the element can't be reused,
+     * for instance because the preceding element was kept with the next one, because the document is tagged
+     * or because a custom renderer is set, an entire recalculation is performed as with {@link #relayout()}.
+     * <p>
+     * Do not use when you have set {@link #immediateFlush} to <code>true</code>.
+     *
+     * @param firstChangedElement the first child element of this document whose layout might have changed
+     */
+    public void relayout(IElement firstChangedElement) {
+        if (immediateFlush) {
+            throw new IllegalStateException("Operation not supported with immediate flush");
+        }
+        int firstChangedElementIndex = childElements.indexOf(firstChangedElement);
+        if (firstChangedElementIndex == -1) {
+            throw new IllegalArgumentException("The element is not a child element of this document.");
+        }
+
+        RootRendererLayoutState layoutState = firstChangedElementIndex < childElementsLayoutStates.size()
+                ? childElementsLayoutStates.get(firstChangedElementIndex) : null;
+        IRenderer nextRelayoutRenderer = rootRenderer.getNextRenderer();
+        if (layoutState == null || pdfDocument.isTagged() || childElementsLayoutStates.size() != childElements.size()
+                || nextRelayoutRenderer == null || nextRelayoutRenderer.getClass() != rootRenderer.getClass()) {
+            relayout();
+            return;
+        }
+
+        rootRenderer.restoreLayoutState(layoutState);
+        while (pdfDocument.getNumberOfPages() > layoutState.getPageNumber()) {
+            pdfDocument.removePage(pdfDocument.getNumberOfPages());
+        }
+        while (childElementsLayoutStates.size() > firstChangedElementIndex) {
+            childElementsLayoutStates.remove(childElementsLayoutStates.size() - 1);
+        }
+        for (int i = firstChangedElementIndex; i < childElements.size(); i++) {
+            createAndAddRendererSubTree(childElements.get(i));
+        }
+    }
+
     /**
      * Gets the left margin, measured in points
      *
@@ -344,6 +418,12 @@ public class Document extends RootElement<Document> {
     }
 
 
+    @Override
+    protected void createAndAddRendererSubTree(IElement element) {
+        storeLayoutState();
+        super.createAndAddRendererSubTree(element);
+    }
+
     @Override
     protected RootRenderer ensureRootRendererNotNull() {
         if (rootRenderer == null)
@@ -359,4 +439,10 @@ public class Document extends RootElement<Document> {
             throw new PdfException(PdfException.DocumentClosedItIsImpossibleToExecuteAction);
         }
     }
+
+    private void storeLayoutState() {
+        if (layoutStatesStoring && !immediateFlush) {
+            childElementsLayoutStates.add(ensureRootRendererNotNull().createLayoutState());
+        }
+    }
 }
@@ -0,0 +1,192 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.element.AreaBreak;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Lays out independent sections of a document concurrently and appends their pages to the document in order.
+ * <p>
+ * A section is a part of the content which always starts on a new page, as if it was preceded by
+ * an {@link AreaBreak}, so its layout doesn't depend on the content of the other sections. Neither
+ * {@link PdfDocument} nor the renderers tree of a {@link Document} can be shared between threads, so every
+ * section is laid out and drawn by a worker task into its own temporary document, which is kept in memory.
+ * The pages of the sections are then copied to the target document on the calling thread in section order,
+ * so all the writes to the target document stay serialized.
+ * <p>
+ * The content of a section is added by {@link ISection}, which is called from a worker thread. Fonts and
+ * other document bound resources shall be created there, since the elements of a section are drawn to
+ * the temporary document. Every section document embeds its own subsets of the fonts it uses, therefore
+ * the same font may be written several times into the resultant document.
+ * <p>
+ * The pages are appended with {@link PdfDocument#copyPagesTo(int, int, PdfDocument)}, so only the content
+ * within a single section is kept intact. Links, outlines and AcroForm fields which cross the section
+ * boundaries, e.g. a link to a destination in another section, are not preserved in the resultant document.
+ */
+public class ParallelSectionsWriter {
+
+    private final PdfDocument pdfDocument;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a new instance of ParallelSectionsWriter class.
+     *
+     * @param pdfDocument the document the pages of the sections are appended to. Its default page size is
+     *                    used as the page size of the sections and the sections are tagged if the document is tagged
+     * @param executor the executor which runs the layout of the sections. It is not shut down by the writer
+     */
+    public ParallelSectionsWriter(PdfDocument pdfDocument, ExecutorService executor) {
+        this.pdfDocument = pdfDocument;
+        this.executor = executor;
+    }
+
+    /**
+     * Lays out the sections concurrently and appends their pages to the end of the document.
+     * <p>
+     * The pages of a section are appended as soon as the section and all the preceding ones are laid out.
+     * Page numbers within a section start from 1; the returned numbers of the first pages of the sections
+     * may be used to number the pages of the resultant document afterwards.
+     *
+     * @param sections the sections in the order their pages shall be appended in
+     * @return the numbers of the first pages of the sections in the document
+     */
+    public int[] writeSections(List<? extends ISection> sections) {
+        final PageSize pageSize = pdfDocument.getDefaultPageSize();
+        final boolean tagged = pdfDocument.isTagged();
+        int[] startPageNumbers = new int[sections.size()];
+        List<Future<byte[]>> results = new ArrayList<>(sections.size());
+        boolean completed = false;
+        try {
+            for (final ISection section : sections) {
+                results.add(executor.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws IOException {
+                        return layoutSection(section, pageSize, tagged);
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                byte[] sectionBytes = results.get(i).get();
+                // the bytes of the section are not needed after its pages are copied
+                results.set(i, null);
+                startPageNumbers[i] = pdfDocument.getNumberOfPages() + 1;
+                appendSection(sectionBytes);
+            }
+            completed = true;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw new PdfException(PdfException.IoException, e.getCause());
+            }
+            throw new PdfException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(e);
+        } finally {
+            if (!completed) {
+                for (Future<byte[]> result : results) {
+                    if (result != null) {
+                        result.cancel(true);
+                    }
+                }
+            }
+        }
+        return startPageNumbers;
+    }
+
+    private static byte[] layoutSection(ISection section, PageSize pageSize, boolean tagged) throws IOException {
+        ByteArrayOutputStream sectionBytes = new ByteArrayOutputStream();
+        PdfDocument sectionPdfDocument = new PdfDocument(new PdfWriter(sectionBytes));
+        if (tagged) {
+            sectionPdfDocument.setTagged();
+        }
+        Document document = new Document(sectionPdfDocument, pageSize);
+        section.addContent(document);
+        document.close();
+        return sectionBytes.toByteArray();
+    }
+
+    private void appendSection(byte[] sectionBytes) {
+        try (PdfDocument sectionPdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(sectionBytes)))) {
+            sectionPdfDocument.copyPagesTo(1, sectionPdfDocument.getNumberOfPages(), pdfDocument);
+        } catch (IOException e) {
+            throw new PdfException(PdfException.IoException, e);
+        }
+    }
+
+    /**
+     * The content of a section which is laid out by {@link ParallelSectionsWriter}.
+     */
+    public interface ISection {
+
+        /**
+         * Adds the content of the section to the document. The method is called from worker threads
+         * concurrently with the other sections.
+         *
+         * @param document the temporary document of the section, it is closed after the method returns
+         * @throws IOException if the resources of the section can't be read
+         */
+        void addContent(Document document) throws IOException;
+    }
+}
@@ -779,18 +779,21 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         int firstRow = lastAddedRowGroups.get(0).startRow;
         int lastRow = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).finishRow;
 
-        List<IElement> toRemove = new ArrayList<>();
+        // the remaining cells and rows are collected into new lists rather than removed one by one,
+        // so that flushing doesn't get slower quadratically with the number of rows added between flushes
+        List<IElement> remainingCells = new ArrayList<>();
         for (IElement cell : childElements) {
-            if (((Cell) cell).getRow() >= firstRow && ((Cell) cell).getRow() <= lastRow) {
-                toRemove.add(cell);
+            if (((Cell) cell).getRow() < firstRow || ((Cell) cell).getRow() > lastRow) {
+                remainingCells.add(cell);
             }
         }
-        childElements.removeAll(toRemove);
+        childElements.clear();
+        childElements.addAll(remainingCells);
 
-        for (int i = 0; i < lastRow - firstRow; i++) {
-            rows.remove(firstRow - rowWindowStart);
-        }
-        lastAddedRow = rows.remove(firstRow - rowWindowStart);
+        lastAddedRow = rows.get(lastRow - rowWindowStart);
+        List<Cell[]> remainingRows = new ArrayList<>(rows.subList(0, firstRow - rowWindowStart));
+        remainingRows.addAll(rows.subList(lastRow - rowWindowStart + 1, rows.size()));
+        rows = remainingRows;
         rowWindowStart = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).getFinishRow() + 1;
 
         lastAddedRowGroups = null;
@@ -0,0 +1,361 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact map of layout properties which is indexed by the {@link Property} identifiers.
+ * <p>
+ * The presence of the properties with identifiers from 0 to 127, which include all the properties
+ * defined by {@link Property}, is kept in a bitset, and their values are kept in a dense array
+ * ordered by the identifiers. Getting such a property costs a bit test and a population count
+ * and doesn't allocate. Properties with other identifiers are kept in a {@link HashMap}.
+ * Both present and absent values may be null: a property set to null is still contained in the map.
+ * The map is not thread-safe.
+ */
+public class PropertyMap extends AbstractMap<Integer, Object> {
+
+    private static final int INDEXED_PROPERTIES_COUNT = 128;
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private long lowBits;
+    private long highBits;
+    private Object[] values = EMPTY_VALUES;
+    private int indexedCount;
+    private Map<Integer, Object> otherProperties;
+
+    /**
+     * Creates an empty map.
+     */
+    public PropertyMap() {
+    }
+
+    /**
+     * Creates a map with the same properties as the specified map.
+     *
+     * @param properties the properties to be copied
+     */
+    public PropertyMap(Map<Integer, ?> properties) {
+        putAll(properties);
+    }
+
+    /**
+     * Checks if the map contains the property.
+     *
+     * @param property the identifier of the property
+     * @return true if the property is contained in the map, false otherwise
+     */
+    public boolean containsKey(int property) {
+        if (isIndexed(property)) {
+            return isSet(property);
+        }
+        return otherProperties != null && otherProperties.containsKey(property);
+    }
+
+    /**
+     * Gets the value of the property.
+     *
+     * @param property the identifier of the property
+     * @return the value of the property, or null if the property is absent or set to null
+     */
+    public Object get(int property) {
+        if (isIndexed(property)) {
+            return isSet(property) ? values[getValueIndex(property)] : null;
+        }
+        return otherProperties != null ? otherProperties.get(property) : null;
+    }
+
+    /**
+     * Sets the value of the property.
+     *
+     * @param property the identifier of the property
+     * @param value    the value of the property, may be null
+     * @return the previous value of the property, or null if it was absent
+     */
+    public Object put(int property, Object value) {
+        if (!isIndexed(property)) {
+            if (otherProperties == null) {
+                otherProperties = new HashMap<>();
+            }
+            return otherProperties.put(property, value);
+        }
+        int index = getValueIndex(property);
+        if (isSet(property)) {
+            Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        if (indexedCount == values.length) {
+            Object[] newValues = new Object[Math.max(4, indexedCount * 2)];
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(values, index, newValues, index + 1, indexedCount - index);
+            values = newValues;
+        } else {
+            System.arraycopy(values, index, values, index + 1, indexedCount - index);
+        }
+        values[index] = value;
+        indexedCount++;
+        setBit(property, true);
+        return null;
+    }
+
+    /**
+     * Removes the property.
+     *
+     * @param property the identifier of the property
+     * @return the removed value of the property, or null if it was absent
+     */
+    public Object remove(int property) {
+        if (!isIndexed(property)) {
+            return otherProperties != null ? otherProperties.remove(property) : null;
+        }
+        if (!isSet(property)) {
+            return null;
+        }
+        int index = getValueIndex(property);
+        Object previous = values[index];
+        System.arraycopy(values, index + 1, values, index, indexedCount - index - 1);
+        values[--indexedCount] = null;
+        setBit(property, false);
+        return previous;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return put((int) key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> properties) {
+        if (properties instanceof PropertyMap && isEmpty()) {
+            PropertyMap other = (PropertyMap) properties;
+            lowBits = other.lowBits;
+            highBits = other.highBits;
+            indexedCount = other.indexedCount;
+            values = new Object[Math.max(4, indexedCount)];
+            System.arraycopy(other.values, 0, values, 0, indexedCount);
+            if (other.otherProperties != null) {
+                otherProperties = new HashMap<>(other.otherProperties);
+            }
+        } else {
+            super.putAll(properties);
+        }
+    }
+
+    @Override
+    public int size() {
+        return indexedCount + (otherProperties != null ? otherProperties.size() : 0);
+    }
+
+    @Override
+    public void clear() {
+        lowBits = 0;
+        highBits = 0;
+        values = EMPTY_VALUES;
+        indexedCount = 0;
+        otherProperties = null;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        return new EntrySet();
+    }
+
+    private static boolean isIndexed(int property) {
+        return property >= 0 && property < INDEXED_PROPERTIES_COUNT;
+    }
+
+    private boolean isSet(int property) {
+        return property < 64 ? (lowBits & (1L << property)) != 0 : (highBits & (1L << (property - 64))) != 0;
+    }
+
+    private void setBit(int property, boolean set) {
+        if (property < 64) {
+            lowBits = set ? lowBits | (1L << property) : lowBits & ~(1L << property);
+        } else {
+            highBits = set ? highBits | (1L << (property - 64)) : highBits & ~(1L << (property - 64));
+        }
+    }
+
+    /**
+     * Gets the position of the value of an indexed property in the dense array of values,
+     * i.e. the number of the contained properties with smaller identifiers.
+     */
+    private int getValueIndex(int property) {
+        if (property < 64) {
+            return Long.bitCount(lowBits & ((1L << property) - 1));
+        }
+        return Long.bitCount(lowBits) + Long.bitCount(highBits & ((1L << (property - 64)) - 1));
+    }
+
+    private int getNextIndexedProperty(int property) {
+        for (int i = property; i < INDEXED_PROPERTIES_COUNT; i++) {
+            long bits = i < 64 ? lowBits >>> i : highBits >>> (i - 64);
+            if (bits == 0) {
+                i = i < 64 ? 63 : INDEXED_PROPERTIES_COUNT;
+            } else {
+                return i + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, Object>> {
+        @Override
+        public Iterator<Map.Entry<Integer, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return PropertyMap.this.size();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private int nextProperty = getNextIndexedProperty(0);
+        private int lastProperty = -1;
+        private Iterator<Map.Entry<Integer, Object>> otherIterator;
+        private boolean lastFromOther;
+
+        @Override
+        public boolean hasNext() {
+            return nextProperty >= 0 || getOtherIterator().hasNext();
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            if (nextProperty >= 0) {
+                lastProperty = nextProperty;
+                lastFromOther = false;
+                nextProperty = getNextIndexedProperty(nextProperty + 1);
+                return new IndexedEntry(lastProperty);
+            }
+            Map.Entry<Integer, Object> entry = getOtherIterator().next();
+            lastFromOther = true;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastFromOther) {
+                otherIterator.remove();
+            } else if (lastProperty >= 0) {
+                PropertyMap.this.remove(lastProperty);
+                lastProperty = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private Iterator<Map.Entry<Integer, Object>> getOtherIterator() {
+            if (otherIterator == null) {
+                otherIterator = otherProperties != null ? otherProperties.entrySet().iterator()
+                        : Collections.<Map.Entry<Integer, Object>>emptyIterator();
+            }
+            return otherIterator;
+        }
+    }
+
+    private final class IndexedEntry implements Map.Entry<Integer, Object> {
+        private final int property;
+
+        IndexedEntry(int property) {
+            this.property = property;
+        }
+
+        @Override
+        public Integer getKey() {
+            return property;
+        }
+
+        @Override
+        public Object getValue() {
+            return PropertyMap.this.get(property);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return PropertyMap.this.put(property, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> that = (Map.Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(that.getKey()) && (value == null ? that.getValue() == null : value.equals(that.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return property ^ (value == null ? 0 : value.hashCode());
+        }
+    }
+}
@@ -97,9 +97,8 @@ class CollapsedTableBorders extends TableBorders {
             }
         }
         // process right border
-        borderList = getVerticalBorder(col + colspan);
         for (int i = startRow - largeTableIndexOffset + row - rowspan + 1; i < startRow - largeTableIndexOffset + row + 1; i++) {
-            border = borderList.get(i);
+            border = getVerticalBorder(col + colspan, i);
             if (null != border && border.getWidth() > indents[1]) {
                 indents[1] = border.getWidth();
             }
@@ -113,9 +112,8 @@ class CollapsedTableBorders extends TableBorders {
             }
         }
         // process left border
-        borderList = getVerticalBorder(col);
         for (int i = startRow - largeTableIndexOffset + row - rowspan + 1; i < startRow - largeTableIndexOffset + row + 1; i++) {
-            border = borderList.get(i);
+            border = getVerticalBorder(col, i);
             if (null != border && border.getWidth() > indents[3]) {
                 indents[3] = border.getWidth();
             }
@@ -135,6 +133,24 @@ class CollapsedTableBorders extends TableBorders {
         }
     }
 
+    /**
+     * Gets the border of the vertical border line with the given index at the given row.
+     * Gives the same result as {@code getVerticalBorder(index).get(row)}, but doesn't collapse
+     * the whole outer line with the table border, which takes time proportional to the number of rows.
+     *
+     * @param index the index of the vertical border line
+     * @param row the index of the row in the border line
+     * @return the border at the given position
+     */
+    private Border getVerticalBorder(int index, int row) {
+        if (index == 0) {
+            return getCollapsedBorder(verticalBorders.get(0).get(row), tableBoundingBorders[3]);
+        } else if (index == numberOfColumns) {
+            return getCollapsedBorder(verticalBorders.get(verticalBorders.size() - 1).get(row), tableBoundingBorders[1]);
+        } else {
+            return verticalBorders.get(index).get(row);
+        }
+    }
 
     public List<Border> getHorizontalBorder(int index) {
         if (index == startRow) {
@@ -376,12 +392,12 @@ class CollapsedTableBorders extends TableBorders {
         float x1 = startX;
         float x2 = x1 + countedColumnWidth[0];
         if (i == 0) {
-            Border firstBorder = getFirstVerticalBorder().get(startRow - largeTableIndexOffset);
+            Border firstBorder = getVerticalBorder(0, startRow - largeTableIndexOffset);
             if (firstBorder != null) {
                 x1 -= firstBorder.getWidth() / 2;
             }
         } else if (i == finishRow - startRow + 1) {
-            Border firstBorder = getFirstVerticalBorder().get(startRow - largeTableIndexOffset + finishRow - startRow + 1 - 1);
+            Border firstBorder = getVerticalBorder(0, startRow - largeTableIndexOffset + finishRow - startRow + 1 - 1);
             if (firstBorder != null) {
                 x1 -= firstBorder.getWidth() / 2;
             }
@@ -408,10 +424,14 @@ class CollapsedTableBorders extends TableBorders {
         Border lastBorder = borders.size() > j - 1 ? borders.get(j - 1) : null;
         if (lastBorder != null) {
             if (i == 0) {
-                if (getVerticalBorder(j).get(startRow - largeTableIndexOffset + i) != null)
-                    x2 += getVerticalBorder(j).get(startRow - largeTableIndexOffset + i).getWidth() / 2;
-            } else if (i == finishRow - startRow + 1 && getVerticalBorder(j).size() > startRow - largeTableIndexOffset + i - 1 && getVerticalBorder(j).get(startRow - largeTableIndexOffset + i - 1) != null) {
-                x2 += getVerticalBorder(j).get(startRow - largeTableIndexOffset + i - 1).getWidth() / 2;
+                Border lastVerticalBorder = getVerticalBorder(j, startRow - largeTableIndexOffset + i);
+                if (lastVerticalBorder != null)
+                    x2 += lastVerticalBorder.getWidth() / 2;
+            } else if (i == finishRow - startRow + 1) {
+                List<Border> lastVerticalBorderList = getVerticalBorder(j);
+                if (lastVerticalBorderList.size() > startRow - largeTableIndexOffset + i - 1 && lastVerticalBorderList.get(startRow - largeTableIndexOffset + i - 1) != null) {
+                    x2 += lastVerticalBorderList.get(startRow - largeTableIndexOffset + i - 1).getWidth() / 2;
+                }
             }
 
             lastBorder.drawCellBorder(canvas, x1, y1, x2, y1, Border.Side.NONE);
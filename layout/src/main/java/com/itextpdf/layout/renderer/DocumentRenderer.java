@@ -111,6 +111,20 @@ public class DocumentRenderer extends RootRenderer {
         return new DocumentRenderer(document, immediateFlush);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The snapshots are supported by the {@link DocumentRenderer} itself, but not by its subclasses,
+     * as they may keep additional layout state, e.g. the current column. Subclasses may override the method
+     * if this is not the case.
+     *
+     * @return true if this is exactly a {@link DocumentRenderer}, false otherwise
+     */
+    @Override
+    protected boolean isLayoutStateSupported() {
+        return getClass() == DocumentRenderer.class;
+    }
+
     protected LayoutArea updateCurrentArea(LayoutResult overflowResult) {
         flushWaitingDrawingElements(false);
         LayoutTaggingHelper taggingHelper = this.<LayoutTaggingHelper>getProperty(Property.TAGGING_HELPER);
@@ -341,6 +341,79 @@ public abstract class RootRenderer extends AbstractRenderer {
         return currentArea;
     }
 
+    /**
+     * Takes a snapshot of the current layout state, i.e. of the current area, of the child renderers laid out
+     * so far and of the floats placed in the current area. Laying out content after the snapshot has been
+     * restored with {@link #restoreLayoutState(RootRendererLayoutState)} gives the same result as laying out
+     * all the content from the very beginning, as long as the content preceding the snapshot hasn't changed.
+     * <p>
+     * The snapshot can only be taken if the already placed content doesn't depend on the content which is
+     * yet to be added, which is not the case for a pending {@link Property#KEEP_WITH_NEXT} renderer,
+     * for floats moved to the next area, for collapsing margins and for the content which has already been
+     * drawn, e.g. with the immediate flush enabled. The snapshot is also not taken if the renderer
+     * doesn't {@link #isLayoutStateSupported() support} it.
+     *
+     * @return the snapshot of the current layout state or {@code null} if it can't be taken
+     */
+    public RootRendererLayoutState createLayoutState() {
+        boolean layoutStarted = currentArea != null;
+        if (!isLayoutStateSupported() || immediateFlush || keepWithNextHangingRenderer != null || !waitingNextPageRenderers.isEmpty()
+                || floatOverflowedCompletely || !waitingDrawingElements.isEmpty()
+                || layoutStarted && Boolean.TRUE.equals(getPropertyAsBoolean(Property.COLLAPSING_MARGINS))) {
+            return null;
+        }
+        return new RootRendererLayoutState(this, childRenderers.size(), positionedRenderers.size(),
+                layoutStarted ? currentPageNumber : 0, layoutStarted ? (RootLayoutArea) currentArea.clone() : null,
+                initialCurrentArea == null ? null : initialCurrentArea.clone(),
+                RootRendererLayoutState.copyAreas(floatRendererAreas));
+    }
+
+    /**
+     * Checks whether the snapshots of the layout state can be taken with {@link #createLayoutState()}.
+     * A snapshot only holds the state known to the {@link RootRenderer} itself, so the method returns {@code false}
+     * by default. Subclasses which either keep no additional layout state or restore it in
+     * {@link #restoreLayoutState(RootRendererLayoutState)} may override it.
+     *
+     * @return true if the layout state snapshots are supported, false otherwise
+     */
+    protected boolean isLayoutStateSupported() {
+        return false;
+    }
+
+    /**
+     * Restores the layout state taken with {@link #createLayoutState()}. All the child renderers
+     * added after the snapshot was taken are removed, so that the corresponding content can be added again.
+     *
+     * @param layoutState the snapshot of the layout state taken from this renderer
+     */
+    public void restoreLayoutState(RootRendererLayoutState layoutState) {
+        if (layoutState.getRootRenderer() != this) {
+            throw new IllegalArgumentException("The layout state was taken from another root renderer.");
+        }
+        if (childRenderers.size() < layoutState.getChildRenderersCount()
+                || positionedRenderers.size() < layoutState.getPositionedRenderersCount()) {
+            throw new IllegalStateException("The child renderers have been flushed since the layout state was taken.");
+        }
+        while (childRenderers.size() > layoutState.getChildRenderersCount()) {
+            childRenderers.remove(childRenderers.size() - 1);
+        }
+        while (positionedRenderers.size() > layoutState.getPositionedRenderersCount()) {
+            positionedRenderers.remove(positionedRenderers.size() - 1);
+        }
+        currentArea = layoutState.getCurrentArea();
+        currentPageNumber = layoutState.getPageNumber();
+        initialCurrentArea = layoutState.getInitialCurrentArea();
+        floatRendererAreas = layoutState.getFloatRendererAreas();
+        keepWithNextHangingRenderer = null;
+        keepWithNextHangingRendererLayoutResult = null;
+        waitingNextPageRenderers.clear();
+        floatOverflowedCompletely = false;
+        waitingDrawingElements.clear();
+        if (currentArea == null) {
+            marginsCollapseHandler = null;
+        }
+    }
+
     protected abstract void flushSingleRenderer(IRenderer resultRenderer);
 
     protected abstract LayoutArea updateCurrentArea(LayoutResult overflowResult);
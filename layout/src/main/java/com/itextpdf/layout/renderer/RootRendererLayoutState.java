@@ -0,0 +1,124 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.RootLayoutArea;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A snapshot of the layout state of a {@link RootRenderer} taken between two of its top-level child renderers.
+ * It allows to lay out the content following the snapshot once more without laying out the preceding content again.
+ *
+ * @see RootRenderer#createLayoutState()
+ * @see RootRenderer#restoreLayoutState(RootRendererLayoutState)
+ */
+public final class RootRendererLayoutState {
+    private final RootRenderer rootRenderer;
+    private final int childRenderersCount;
+    private final int positionedRenderersCount;
+    private final int pageNumber;
+    private final RootLayoutArea currentArea;
+    private final LayoutArea initialCurrentArea;
+    private final List<Rectangle> floatRendererAreas;
+
+    RootRendererLayoutState(RootRenderer rootRenderer, int childRenderersCount, int positionedRenderersCount,
+            int pageNumber, RootLayoutArea currentArea, LayoutArea initialCurrentArea, List<Rectangle> floatRendererAreas) {
+        this.rootRenderer = rootRenderer;
+        this.childRenderersCount = childRenderersCount;
+        this.positionedRenderersCount = positionedRenderersCount;
+        this.pageNumber = pageNumber;
+        this.currentArea = currentArea;
+        this.initialCurrentArea = initialCurrentArea;
+        this.floatRendererAreas = floatRendererAreas;
+    }
+
+    /**
+     * Gets the number of the page the layout was at when the snapshot was taken.
+     * The pages following this one don't contain any content laid out before the snapshot.
+     *
+     * @return the page number, or 0 if the layout hasn't started yet
+     */
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    RootRenderer getRootRenderer() {
+        return rootRenderer;
+    }
+
+    int getChildRenderersCount() {
+        return childRenderersCount;
+    }
+
+    int getPositionedRenderersCount() {
+        return positionedRenderersCount;
+    }
+
+    RootLayoutArea getCurrentArea() {
+        return currentArea == null ? null : (RootLayoutArea) currentArea.clone();
+    }
+
+    LayoutArea getInitialCurrentArea() {
+        return initialCurrentArea == null ? null : initialCurrentArea.clone();
+    }
+
+    List<Rectangle> getFloatRendererAreas() {
+        return copyAreas(floatRendererAreas);
+    }
+
+    static List<Rectangle> copyAreas(List<Rectangle> areas) {
+        if (areas == null) {
+            return null;
+        }
+        List<Rectangle> copy = new ArrayList<>(areas.size());
+        for (Rectangle area : areas) {
+            copy.add(area.clone());
+        }
+        return copy;
+    }
+}
@@ -137,6 +137,12 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
     private int specialScriptFirstNotFittingIndex = -1;
     private int indexOfFirstCharacterToBeForcedToOverflow = UNDEFINED_FIRST_CHAR_TO_FORCE_OVERFLOW;
 
+    // font runs produced by the last font resolution of this renderer, they are reused while the text
+    // and the values the font selection depends on stay the same, see #resolveFonts(List)
+    private Object[] resolvedFontsKey;
+    private List<GlyphLine> resolvedGlyphLines;
+    private List<PdfFont> resolvedFonts;
+
     /**
      * Creates a TextRenderer from its corresponding layout object.
      *
@@ -522,11 +528,17 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                                 String word = text.toUnicodeString(wordBounds[0], wordBounds[1]);
                                 Hyphenation hyph = hyphenationConfig.hyphenate(word);
                                 if (hyph != null) {
+                                    // the text preceding the word is the same for every hyphenation choice,
+                                    // so it is converted and measured only once
+                                    GlyphLine wordPrefix = convertToGlyphLine(text.toUnicodeString(currentTextPos, wordBounds[0]));
+                                    float wordPrefixWidth = accumulateGlyphLineWidth(0, null, wordPrefix, fontSize.getValue(), hScale, characterSpacing, wordSpacing);
+                                    Glyph wordPrefixLastGlyph = wordPrefix.end > wordPrefix.start ? wordPrefix.get(wordPrefix.end - 1) : null;
                                     for (int i = hyph.length() - 1; i >= 0; i--) {
                                         String pre = hyph.getPreHyphenText(i);
                                         String pos = hyph.getPostHyphenText(i);
                                         float currentHyphenationChoicePreTextWidth =
-                                                getGlyphLineWidth(convertToGlyphLine(text.toUnicodeString(currentTextPos, wordBounds[0]) + pre + hyphenationConfig.getHyphenSymbol()), fontSize.getValue(), hScale, characterSpacing, wordSpacing);
+                                                accumulateGlyphLineWidth(wordPrefixWidth, wordPrefixLastGlyph, convertToGlyphLine(pre + hyphenationConfig.getHyphenSymbol()),
+                                                        fontSize.getValue(), hScale, characterSpacing, wordSpacing) / TEXT_SPACE_COEFF;
                                         if (currentLineWidth + currentHyphenationChoicePreTextWidth + italicSkewAddition + boldSimulationAddition <= layoutBox.getWidth()) {
                                             hyphenationApplied = true;
 
@@ -1135,6 +1147,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
      */
     public void setText(String text) {
         strToBeConverted = text;
+        invalidateResolvedFonts();
         //strToBeConverted will be null after next method.
         updateFontAndText();
     }
@@ -1540,18 +1553,33 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
             if (provider.getFontSet().isEmpty() && (fontSet == null || fontSet.isEmpty())) {
                 throw new IllegalStateException(PdfException.FontProviderNotSetFontFamilyNotResolved);
             }
-            FontCharacteristics fc = createFontCharacteristics();
-            FontSelectorStrategy strategy = provider.getStrategy(strToBeConverted, Arrays.asList((String[])font), fc, fontSet);
             // process empty renderers because they can have borders or paddings with background to be drawn
             if (null == strToBeConverted || strToBeConverted.isEmpty()) {
                 addTo.add(this);
             } else {
-                while (!strategy.endOfText()) {
-                    GlyphLine nextGlyphs = new GlyphLine(strategy.nextGlyphs());
-                    PdfFont currentFont = strategy.getCurrentFont();
-                    GlyphLine newGlyphs = TextPreprocessingUtil.replaceSpecialWhitespaceGlyphs(nextGlyphs, currentFont);
-                    TextRenderer textRenderer = createCopy(newGlyphs, currentFont);
-                    addTo.add(textRenderer);
+                // font sets can only grow, so their sizes are enough to notice that new fonts have been added
+                Object[] key = new Object[] {strToBeConverted, font, this.<Object>getProperty(Property.FONT_WEIGHT),
+                        this.<Object>getProperty(Property.FONT_STYLE), provider, provider.getFontSet().size(),
+                        fontSet, fontSet == null ? 0 : fontSet.size()};
+                if (resolvedFontsKey == null || !Arrays.deepEquals(resolvedFontsKey, key)) {
+                    List<GlyphLine> glyphLines = new ArrayList<>();
+                    List<PdfFont> fonts = new ArrayList<>();
+                    FontCharacteristics fc = createFontCharacteristics();
+                    FontSelectorStrategy strategy = provider.getStrategy(strToBeConverted, Arrays.asList((String[])font), fc, fontSet);
+                    while (!strategy.endOfText()) {
+                        GlyphLine nextGlyphs = new GlyphLine(strategy.nextGlyphs());
+                        PdfFont currentFont = strategy.getCurrentFont();
+                        glyphLines.add(TextPreprocessingUtil.replaceSpecialWhitespaceGlyphs(nextGlyphs, currentFont));
+                        fonts.add(currentFont);
+                    }
+                    resolvedFontsKey = key;
+                    resolvedGlyphLines = glyphLines;
+                    resolvedFonts = fonts;
+                }
+                for (int i = 0; i < resolvedGlyphLines.size(); i++) {
+                    GlyphLine glyphLine = resolvedGlyphLines.get(i);
+                    // the created renderers apply otf features to their glyph lines in place, so each of them gets its own copy
+                    addTo.add(createCopy(glyphLine.copy(glyphLine.start, glyphLine.end), resolvedFonts.get(i)));
                 }
             }
             return true;
@@ -1579,12 +1607,30 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         setProperty(Property.FONT, font);
     }
 
+    @Override
+    public void setProperty(int property, Object value) {
+        super.setProperty(property, value);
+        invalidateResolvedFonts();
+    }
+
+    @Override
+    public void deleteOwnProperty(int property) {
+        super.deleteOwnProperty(property);
+        invalidateResolvedFonts();
+    }
+
     protected TextRenderer createCopy(GlyphLine gl, PdfFont font) {
         TextRenderer copy = new TextRenderer(this);
         copy.setProcessedGlyphLineAndFont(gl, font);
         return copy;
     }
 
+    private void invalidateResolvedFonts() {
+        resolvedFontsKey = null;
+        resolvedGlyphLines = null;
+        resolvedFonts = null;
+    }
+
     static void updateRangeBasedOnRemovedCharacters(ArrayList<Integer> removedIds, int[] range) {
         int shift = numberOfElementsLessThan(removedIds, range[0]);
         range[0] -= shift;
@@ -1673,35 +1719,47 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         }
     }
 
-    private float getCharWidth(Glyph g, float fontSize, Float hScale, Float characterSpacing, Float wordSpacing) {
-        if (hScale == null)
-            hScale = 1f;
-
-        float resultWidth = g.getWidth() * fontSize * (float) hScale;
+    private float getCharWidth(Glyph g, float fontSize, float hScale, Float characterSpacing, Float wordSpacing) {
+        float resultWidth = g.getWidth() * fontSize * hScale;
         if (characterSpacing != null) {
-            resultWidth += (float) characterSpacing * (float) hScale * TEXT_SPACE_COEFF;
+            resultWidth += (float) characterSpacing * hScale * TEXT_SPACE_COEFF;
         }
         if (wordSpacing != null && g.getUnicode() == ' ') {
-            resultWidth += (float) wordSpacing * (float) hScale * TEXT_SPACE_COEFF;
+            resultWidth += (float) wordSpacing * hScale * TEXT_SPACE_COEFF;
         }
         return resultWidth;
     }
 
-    private float scaleXAdvance(float xAdvance, float fontSize, Float hScale) {
-        return xAdvance * fontSize * (float) hScale;
+    private float scaleXAdvance(float xAdvance, float fontSize, float hScale) {
+        return xAdvance * fontSize * hScale;
     }
 
     private float getGlyphLineWidth(GlyphLine glyphLine, float fontSize, float hScale, Float characterSpacing, Float wordSpacing) {
-        float width = 0;
+        return accumulateGlyphLineWidth(0, null, glyphLine, fontSize, hScale, characterSpacing, wordSpacing) / TEXT_SPACE_COEFF;
+    }
+
+    /**
+     * Adds the width of the glyph line to an already accumulated width, as if the glyph line directly followed
+     * the glyphs that width was measured for. The result is not divided by {@link #TEXT_SPACE_COEFF}, so that
+     * measuring a line in several parts gives exactly the same value as measuring it at once.
+     *
+     * @param accumulatedWidth the width of the preceding glyphs in text space units
+     * @param previousGlyph the last of the preceding glyphs, or {@code null} if there are none
+     * @param glyphLine the glyph line to be measured
+     * @return the total width of the preceding glyphs and the glyph line in text space units
+     */
+    private float accumulateGlyphLineWidth(float accumulatedWidth, Glyph previousGlyph, GlyphLine glyphLine,
+            float fontSize, float hScale, Float characterSpacing, Float wordSpacing) {
+        float width = accumulatedWidth;
         for (int i = glyphLine.start; i < glyphLine.end; i++) {
-            if (!noPrint(glyphLine.get(i))) {
-                float charWidth = getCharWidth(glyphLine.get(i), fontSize, hScale, characterSpacing, wordSpacing);
-                width += charWidth;
-                float xAdvance = (i != glyphLine.start) ? scaleXAdvance(glyphLine.get(i - 1).getXAdvance(), fontSize, hScale) : 0;
-                width += xAdvance;
+            Glyph glyph = glyphLine.get(i);
+            if (!noPrint(glyph)) {
+                width += getCharWidth(glyph, fontSize, hScale, characterSpacing, wordSpacing);
+                Glyph previous = i != glyphLine.start ? glyphLine.get(i - 1) : previousGlyph;
+                width += previous != null ? scaleXAdvance(previous.getXAdvance(), fontSize, hScale) : 0;
             }
         }
-        return width / TEXT_SPACE_COEFF;
+        return width;
     }
 
     private int[] getWordBoundsForHyphenation(GlyphLine text, int leftTextPos, int rightTextPos, int wordMiddleCharPos) {
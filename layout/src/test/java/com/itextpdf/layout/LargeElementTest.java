@@ -74,6 +74,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 @Category(IntegrationTest.class)
@@ -1267,4 +1268,33 @@ public class LargeElementTest extends ExtendedITextTest {
         doc.close();
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
     }
+
+    @Test
+    public void largeTableFlushKeepsIncompleteRowGroupTest() {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Document doc = new Document(pdfDoc);
+
+        Table table = new Table(UnitValue.createPercentArray(2), true);
+        doc.add(table);
+        for (int i = 0; i < 30; i++) {
+            table.addCell(new Cell().add(new Paragraph("Cell " + i)));
+        }
+        // row 15 starts a row group which is not complete yet
+        table.addCell(new Cell(2, 1).add(new Paragraph("Rowspan cell")));
+        table.addCell(new Cell().add(new Paragraph("Cell 30")));
+        table.flush();
+
+        Assert.assertEquals(2, table.getChildren().size());
+        Assert.assertNotNull(table.getCell(15, 0));
+        Assert.assertNotNull(table.getCell(15, 1));
+        Assert.assertEquals(2, table.getLastRowBottomBorder().size());
+
+        table.addCell(new Cell().add(new Paragraph("Cell 31")));
+        table.flush();
+
+        Assert.assertEquals(0, table.getChildren().size());
+
+        table.complete();
+        doc.close();
+    }
 }
@@ -0,0 +1,183 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Category(IntegrationTest.class)
+public class ParallelSectionsWriterTest extends ExtendedITextTest {
+
+    public static final String destinationFolder = "./target/test/com/itextpdf/layout/ParallelSectionsWriterTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void sectionsAreAppendedInOrderTest() throws IOException {
+        String outFileName = destinationFolder + "sectionsAreAppendedInOrderTest.pdf";
+        int[] paragraphsCounts = new int[] {120, 10, 60, 1};
+
+        List<ParallelSectionsWriter.ISection> sections = new ArrayList<>();
+        for (int i = 0; i < paragraphsCounts.length; i++) {
+            sections.add(new CatalogSection(i, paragraphsCounts[i]));
+        }
+        int[] startPageNumbers;
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName))) {
+            pdfDocument.setDefaultPageSize(PageSize.A5);
+            startPageNumbers = new ParallelSectionsWriter(pdfDocument, executor).writeSections(sections);
+        } finally {
+            executor.shutdown();
+        }
+
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(outFileName))) {
+            Assert.assertEquals(1, startPageNumbers[0]);
+            for (int i = 0; i < paragraphsCounts.length; i++) {
+                int endPageNumber = i + 1 < paragraphsCounts.length ? startPageNumbers[i + 1] - 1
+                        : pdfDocument.getNumberOfPages();
+                Assert.assertEquals(getSectionPagesCount(paragraphsCounts[i]), endPageNumber - startPageNumbers[i] + 1);
+                Assert.assertTrue(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(startPageNumbers[i]))
+                        .startsWith("Section " + i));
+                Assert.assertTrue(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(endPageNumber))
+                        .endsWith("Item " + i + "." + (paragraphsCounts[i] - 1)));
+                Assert.assertEquals(PageSize.A5.getHeight(),
+                        pdfDocument.getPage(startPageNumbers[i]).getPageSize().getHeight(), 0.001);
+            }
+        }
+    }
+
+    @Test
+    public void sectionsOfTaggedDocumentAreTaggedTest() throws IOException {
+        String outFileName = destinationFolder + "sectionsOfTaggedDocumentAreTaggedTest.pdf";
+        List<ParallelSectionsWriter.ISection> sections = new ArrayList<>();
+        sections.add(new CatalogSection(0, 5));
+        sections.add(new CatalogSection(1, 5));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName)).setTagged()) {
+            new ParallelSectionsWriter(pdfDocument, executor).writeSections(sections);
+        } finally {
+            executor.shutdown();
+        }
+
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(outFileName))) {
+            Assert.assertTrue(pdfDocument.isTagged());
+            Assert.assertEquals(2, pdfDocument.getNumberOfPages());
+            // every section adds its heading and items to the structure tree
+            Assert.assertEquals(2 * 6, pdfDocument.getStructTreeRoot().getKids().get(0).getKids().size());
+        }
+    }
+
+    @Test
+    public void sectionErrorIsRethrownTest() {
+        List<ParallelSectionsWriter.ISection> sections = new ArrayList<>();
+        sections.add(new CatalogSection(0, 5));
+        sections.add(new ParallelSectionsWriter.ISection() {
+            @Override
+            public void addContent(Document document) {
+                throw new StackOverflowError();
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            new ParallelSectionsWriter(pdfDocument, executor).writeSections(sections);
+            Assert.fail("StackOverflowError is expected");
+        } catch (StackOverflowError expected) {
+            // the error is not wrapped
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static int getSectionPagesCount(int paragraphsCount) throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Document document = new Document(pdfDocument, PageSize.A5);
+        new CatalogSection(0, paragraphsCount).addContent(document);
+        int pagesCount = pdfDocument.getNumberOfPages();
+        document.close();
+        return pagesCount;
+    }
+
+    private static class CatalogSection implements ParallelSectionsWriter.ISection {
+
+        private final int sectionNumber;
+        private final int paragraphsCount;
+
+        CatalogSection(int sectionNumber, int paragraphsCount) {
+            this.sectionNumber = sectionNumber;
+            this.paragraphsCount = paragraphsCount;
+        }
+
+        @Override
+        public void addContent(Document document) throws IOException {
+            document.setFont(PdfFontFactory.createFont(StandardFonts.TIMES_ROMAN));
+            document.add(new Paragraph("Section " + sectionNumber).setFontSize(20));
+            for (int i = 0; i < paragraphsCount; i++) {
+                document.add(new Paragraph("Item " + sectionNumber + "." + i));
+            }
+        }
+    }
+}
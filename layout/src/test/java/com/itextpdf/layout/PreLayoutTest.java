@@ -63,6 +63,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -183,6 +184,61 @@ public class PreLayoutTest extends ExtendedITextTest{
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
     }
 
+    @Test
+    public void relayoutFromChangedElementTest() throws IOException, InterruptedException {
+        String outFileName = destinationFolder + "relayoutFromChangedElementTest.pdf";
+        String cmpFileName = destinationFolder + "cmp_relayoutFromChangedElementTest.pdf";
+
+        createTotalPagesDocument(outFileName, true);
+        createTotalPagesDocument(cmpFileName, false);
+
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
+    }
+
+    @Test
+    public void relayoutFromChangedElementWithoutLayoutStatesTest() {
+        Document document = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())), PageSize.A5, false);
+        Paragraph firstParagraph = new Paragraph("First paragraph");
+        document.add(firstParagraph);
+        Paragraph secondParagraph = new Paragraph("Second paragraph");
+        document.add(secondParagraph);
+
+        IRenderer firstRenderer = document.getRenderer().getChildRenderers().get(0);
+        document.relayout(secondParagraph);
+        // layout states are not stored by default, so the whole document is laid out once more
+        Assert.assertNotSame(firstRenderer, document.getRenderer().getChildRenderers().get(0));
+        Assert.assertEquals(2, document.getRenderer().getChildRenderers().size());
+
+        document.close();
+    }
+
+    private static void createTotalPagesDocument(String fileName, boolean relayoutFromChangedElement) throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(fileName));
+        Document document = new Document(pdfDocument, PageSize.A5, false);
+        document.setLayoutStatesStoring(relayoutFromChangedElement);
+
+        for (int i = 0; i < 100; i++) {
+            document.add(new Paragraph("This is just junk text " + i));
+        }
+        Text totalPagesText = new Text("Total pages: ?");
+        Paragraph totalPagesParagraph = new Paragraph().add(totalPagesText);
+        document.add(totalPagesParagraph);
+        for (int i = 0; i < 30; i++) {
+            document.add(new Paragraph("This is the text after the number of pages " + i));
+        }
+
+        IRenderer firstRenderer = document.getRenderer().getChildRenderers().get(0);
+        totalPagesText.setText("Total pages: " + pdfDocument.getNumberOfPages() + "\nThis text takes one more line");
+        if (relayoutFromChangedElement) {
+            document.relayout(totalPagesParagraph);
+            Assert.assertSame(firstRenderer, document.getRenderer().getChildRenderers().get(0));
+        } else {
+            document.relayout();
+        }
+
+        document.close();
+    }
+
     static class TwoColumnParagraphRenderer extends ParagraphRenderer {
 
         int oneColumnPage = -1;
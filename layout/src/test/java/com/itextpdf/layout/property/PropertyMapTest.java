@@ -0,0 +1,124 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2020 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PropertyMapTest extends ExtendedITextTest {
+
+    @Test
+    public void sameBehaviorAsHashMapTest() {
+        Random random = new Random(42);
+        PropertyMap propertyMap = new PropertyMap();
+        Map<Integer, Object> hashMap = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            // mostly indexed identifiers, some custom ones, and null values
+            int property = random.nextInt(10) == 0 ? 1000 + random.nextInt(5) : random.nextInt(128);
+            Object value = random.nextInt(8) == 0 ? null : (Object) random.nextInt(100);
+            switch (random.nextInt(3)) {
+                case 0:
+                    Assert.assertEquals(hashMap.put(property, value), propertyMap.put(property, value));
+                    break;
+                case 1:
+                    Assert.assertEquals(hashMap.remove(property), propertyMap.remove(property));
+                    break;
+                default:
+                    Assert.assertEquals(hashMap.containsKey(property), propertyMap.containsKey(property));
+                    Assert.assertEquals(hashMap.get(property), propertyMap.get(property));
+                    break;
+            }
+            Assert.assertEquals(hashMap.size(), propertyMap.size());
+        }
+        Assert.assertEquals(hashMap, propertyMap);
+        Assert.assertEquals(propertyMap, hashMap);
+        Assert.assertEquals(hashMap.hashCode(), propertyMap.hashCode());
+        Assert.assertEquals(hashMap, new PropertyMap(propertyMap));
+        Assert.assertEquals(hashMap, new PropertyMap(hashMap));
+    }
+
+    @Test
+    public void propertySetToNullIsContainedTest() {
+        PropertyMap properties = new PropertyMap();
+        properties.put(Property.FONT_SIZE, null);
+        Assert.assertTrue(properties.containsKey(Property.FONT_SIZE));
+        Assert.assertNull(properties.get(Property.FONT_SIZE));
+        Assert.assertFalse(properties.containsKey(Property.FONT));
+        Assert.assertEquals(1, properties.size());
+    }
+
+    @Test
+    public void iterationInIdentifiersOrderTest() {
+        PropertyMap properties = new PropertyMap();
+        properties.put(1000, "custom");
+        properties.put(Property.OVERFLOW_WRAP, "127");
+        properties.put(Property.ACTION, "1");
+        properties.put(Property.FONT, "20");
+        properties.put(Property.STROKE_COLOR, "63");
+        properties.put(64, "64");
+
+        StringBuilder keys = new StringBuilder();
+        Iterator<Map.Entry<Integer, Object>> iterator = properties.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Object> entry = iterator.next();
+            keys.append(entry.getKey()).append(' ');
+            if (entry.getKey() == Property.FONT || entry.getKey() == 1000) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals("1 20 63 64 127 1000 ", keys.toString());
+        Assert.assertEquals(4, properties.size());
+        Assert.assertFalse(properties.containsKey(Property.FONT));
+        Assert.assertEquals("64", properties.get(64));
+    }
+}
@@ -55,6 +55,7 @@ import com.itextpdf.layout.Document;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Text;
 import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.hyphenation.HyphenationConfig;
 import com.itextpdf.layout.layout.LayoutArea;
 import com.itextpdf.layout.layout.LayoutContext;
 import com.itextpdf.layout.layout.LayoutPosition;
@@ -73,7 +74,9 @@ import com.itextpdf.test.annotations.type.UnitTest;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -413,4 +416,71 @@ public class TextRendererTest extends RendererUnitTest {
 
         Assert.assertTrue(minWidthAndItalicSimulation > minWidthNoItalicSimulation);
     }
+
+    @Test
+    public void hyphenatedLineFitsIntoAreaTest() {
+        Document doc = createDocument();
+        TextRenderer textRenderer = (TextRenderer) new TextRenderer(new Text("hyphenation"))
+                .setParent(doc.getRenderer());
+        textRenderer.setProperty(Property.HYPHENATION, new HyphenationConfig("en", "en", 3, 3));
+
+        float availableWidth = 50;
+        LayoutResult result = textRenderer.layout(new LayoutContext(createLayoutArea(availableWidth, 1000)));
+        Assert.assertEquals(LayoutResult.PARTIAL, result.getStatus());
+
+        Assert.assertEquals("hyphen-", textRenderer.line.toString());
+        Assert.assertEquals(textRenderer.calculateLineWidth(), textRenderer.getOccupiedArea().getBBox().getWidth(), EPS);
+        Assert.assertTrue(textRenderer.getOccupiedArea().getBBox().getWidth() <= availableWidth);
+        Assert.assertEquals("ation", ((TextRenderer) result.getOverflowRenderer()).getText().toString());
+    }
+
+    @Test
+    public void resolvedFontsAreReusedOnRepeatedResolutionTest() {
+        // the tab is replaced with a new glyph while resolving fonts
+        TextRenderer renderer = createMultiFontTextRenderer("\tLatin \u043A\u0456\u0440\u044B\u043B\u0456\u0446\u0430");
+
+        List<IRenderer> firstResolution = new ArrayList<>();
+        renderer.resolveFonts(firstResolution);
+        List<IRenderer> secondResolution = new ArrayList<>();
+        renderer.resolveFonts(secondResolution);
+
+        Assert.assertEquals(2, firstResolution.size());
+        Assert.assertEquals(firstResolution.size(), secondResolution.size());
+        for (int i = 0; i < firstResolution.size(); i++) {
+            TextRenderer first = (TextRenderer) firstResolution.get(i);
+            TextRenderer second = (TextRenderer) secondResolution.get(i);
+            Assert.assertNotSame(first, second);
+            Assert.assertSame(first.getPropertyAsFont(Property.FONT), second.getPropertyAsFont(Property.FONT));
+            Assert.assertEquals(first.text.toString(), second.text.toString());
+            // glyphs are shared, glyph lines are not as they are modified in place while applying otf features
+            Glyph glyph = second.text.get(0);
+            Assert.assertSame(first.text.get(0), glyph);
+            first.text.set(0, first.text.get(1));
+            Assert.assertSame(glyph, second.text.get(0));
+        }
+    }
+
+    @Test
+    public void resolvedFontsAreInvalidatedOnSetTextTest() {
+        TextRenderer renderer = createMultiFontTextRenderer("Latin \u043A\u0456\u0440\u044B\u043B\u0456\u0446\u0430");
+        renderer.resolveFonts(new ArrayList<IRenderer>());
+
+        renderer.setText("Latin only");
+        List<IRenderer> resolution = new ArrayList<>();
+        renderer.resolveFonts(resolution);
+
+        Assert.assertEquals(1, resolution.size());
+        Assert.assertEquals("Latin only", ((TextRenderer) resolution.get(0)).text.toString());
+    }
+
+    private static TextRenderer createMultiFontTextRenderer(String content) {
+        Text text = new Text(content);
+        // Puritan doesn't contain cyrillic symbols, while Noto Sans does.
+        text.setFontFamily(Arrays.asList("Puritan 2.0", "Noto Sans"));
+        FontProvider fontProvider = new FontProvider();
+        fontProvider.addFont(FONTS_FOLDER + "Puritan2.otf");
+        fontProvider.addFont(FONTS_FOLDER + "NotoSans-Regular.ttf");
+        text.setProperty(Property.FONT_PROVIDER, fontProvider);
+        return new TextRenderer(text);
+    }
 }